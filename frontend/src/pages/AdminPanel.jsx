@@ -22,6 +22,7 @@ import {
   Tabs,
   Tab,
   IconButton,
+  TextField,
 } from '@mui/material'
 import {
   Person,
@@ -37,6 +38,9 @@ import { toast } from 'react-toastify'
 const AdminPanel = () => {
   const [tabValue, setTabValue] = useState(0)
   const [users, setUsers] = useState([])
+  const [totalUsers, setTotalUsers] = useState(0)
+  const [nextCursor, setNextCursor] = useState(null)
+  const [searchQuery, setSearchQuery] = useState('')
   const [auditLogs, setAuditLogs] = useState([])
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState('')
@@ -62,15 +66,12 @@ const AdminPanel = () => {
   const fetchUsers = async () => {
     try {
       setLoading(true)
-      console.log('Fetching users...')
-      const data = await adminService.getAllUsers()
-      console.log('Users fetched successfully:', data)
-      setUsers(data)
+      const data = await adminService.getUsers(0)
+      setUsers(data.users)
+      setNextCursor(data.nextCursor)
+      setTotalUsers(data.totalUsers)
       setError('') // Clear any previous errors
     } catch (error) {
-      console.error('Error fetching users:', error)
-      console.error('Error response:', error.response)
-      console.error('Error message:', error.message)
       const errorMessage = error.response?.data?.message || error.message || 'Failed to load users'
       setError(errorMessage)
       toast.error(errorMessage)
@@ -79,6 +80,34 @@ const AdminPanel = () => {
     }
   }
 
+  const loadMoreUsers = async () => {
+    try {
+      setActionLoading(true)
+      const data = await adminService.getUsers(nextCursor)
+      setUsers([...users, ...data.users])
+      setNextCursor(data.nextCursor)
+    } catch (error) {
+      toast.error('Failed to load more users')
+    } finally {
+      setActionLoading(false)
+    }
+  }
+
+  const handleSearch = async (query) => {
+    setSearchQuery(query)
+    if (!query.trim()) {
+      fetchUsers()
+      return
+    }
+    try {
+      const data = await adminService.searchUsers(query)
+      setUsers(data)
+      setNextCursor(null)
+    } catch (error) {
+      toast.error('Search failed')
+    }
+  }
+
   const fetchAuditLogs = async () => {
     try {
       setLoading(true)
@@ -98,7 +127,7 @@ const AdminPanel = () => {
       setActionLoading(true)
       await adminService.promoteUser(userId)
       toast.success('User promoted to admin successfully!')
-      fetchUsers()
+      handleSearch(searchQuery)
     } catch (error) {
       const errorMessage = error.response?.data || 'Failed to promote user'
       toast.error(errorMessage)
@@ -114,7 +143,7 @@ const AdminPanel = () => {
       toast.success('User deactivated successfully!')
       setDeleteDialogOpen(false)
       setSelectedUser(null)
-      fetchUsers()
+      handleSearch(searchQuery)
     } catch (error) {
       const errorMessage = error.response?.data || 'Failed to deactivate user'
       toast.error(errorMessage)
@@ -168,9 +197,18 @@ const AdminPanel = () => {
               {/* User Management Tab */}
               {tabValue === 0 && (
                 <Box mt={3}>
-                  <Typography variant="h6" gutterBottom>
-                    System Users ({users.length})
-                  </Typography>
+                  <Box display="flex" justifyContent="space-between" alignItems="center" mb={2}>
+                    <Typography variant="h6">
+                      System Users ({totalUsers})
+                    </Typography>
+                    <TextField
+                      size="small"
+                      label="Search username, email, name or phone"
+                      value={searchQuery}
+                      onChange={(e) => handleSearch(e.target.value)}
+                      sx={{ minWidth: 320 }}
+                    />
+                  </Box>
                   
                   <TableContainer component={Paper} variant="outlined">
                     <Table>
@@ -247,6 +285,14 @@ const AdminPanel = () => {
                       </TableBody>
                     </Table>
                   </TableContainer>
+
+                  {nextCursor && (
+                    <Box textAlign="center" mt={2}>
+                      <Button onClick={loadMoreUsers} disabled={actionLoading}>
+                        Load more
+                      </Button>
+                    </Box>
+                  )}
                 </Box>
               )}
 
@@ -16,31 +16,34 @@ import {
   History,
 } from '@mui/icons-material'
 import { useAuth } from '../contexts/AuthContext'
-import accountService from '../services/accountService'
-import transactionService from '../services/transactionService'
+import dashboardService from '../services/dashboardService'
+import eventService from '../services/eventService'
 import { toast } from 'react-toastify'
 
 const Dashboard = () => {
   const [accounts, setAccounts] = useState([])
   const [recentTransactions, setRecentTransactions] = useState([])
+  const [spending, setSpending] = useState({ months: [], topPayees: [] })
   const [loading, setLoading] = useState(true)
   const [error, setError] = useState('')
   const { user } = useAuth()
 
   useEffect(() => {
     fetchDashboardData()
+    // Refresh in place whenever money moves on one of the user's accounts
+    return eventService.subscribeToPostings(() => fetchDashboardData(true))
   }, [])
 
-  const fetchDashboardData = async () => {
+  const fetchDashboardData = async (silent = false) => {
     try {
-      setLoading(true)
-      const [accountsData, transactionsData] = await Promise.all([
-        accountService.getMyAccounts(),
-        transactionService.getMyTransactions(0, 5)
-      ])
+      if (!silent) {
+        setLoading(true)
+      }
+      const data = await dashboardService.getDashboard(5)
       
-      setAccounts(accountsData)
-      setRecentTransactions(transactionsData.content || [])
+      setAccounts(data.accounts)
+      setRecentTransactions(data.recentTransactions)
+      setSpending(data.spending)
     } catch (error) {
       const errorMessage = error.response?.data?.message || 'Failed to load dashboard data'
       setError(errorMessage)
@@ -235,7 +238,7 @@ const Dashboard = () => {
                     <Box textAlign="right">
                       <Typography
                         variant="subtitle1"
-                        color={transaction.transactionType === 'TRANSFER' ? 'error' : 'success'}
+                        color={['TRANSFER', 'WITHDRAWAL'].includes(transaction.transactionType) ? 'error' : 'success'}
                       >
                         {formatCurrency(transaction.amount)}
                       </Typography>
@@ -251,6 +254,74 @@ const Dashboard = () => {
             </CardContent>
           </Card>
         </Grid>
+
+        {/* Spending by Month */}
+        <Grid item xs={12} md={6}>
+          <Card>
+            <CardContent>
+              <Typography variant="h6" gutterBottom>
+                Spending by Month
+              </Typography>
+              {spending.months.map((month) => (
+                <Box
+                  key={month.month}
+                  display="flex"
+                  justifyContent="space-between"
+                  alignItems="center"
+                  py={1}
+                  borderBottom="1px solid #eee"
+                >
+                  <Typography variant="subtitle2">{month.month}</Typography>
+                  <Box textAlign="right">
+                    <Typography variant="body2" color="success.main">
+                      +{formatCurrency(month.inflow)}
+                    </Typography>
+                    <Typography variant="body2" color="error">
+                      -{formatCurrency(month.outflow)}
+                    </Typography>
+                  </Box>
+                </Box>
+              ))}
+            </CardContent>
+          </Card>
+        </Grid>
+
+        {/* Top Payees */}
+        <Grid item xs={12} md={6}>
+          <Card>
+            <CardContent>
+              <Typography variant="h6" gutterBottom>
+                Top Payees
+              </Typography>
+              {spending.topPayees.length === 0 ? (
+                <Typography color="textSecondary">
+                  No payments in this period.
+                </Typography>
+              ) : (
+                spending.topPayees.map((payee) => (
+                  <Box
+                    key={payee.payee}
+                    display="flex"
+                    justifyContent="space-between"
+                    alignItems="center"
+                    py={1}
+                    borderBottom="1px solid #eee"
+                  >
+                    <Box>
+                      <Typography variant="subtitle2">{payee.payee}</Typography>
+                      <Typography variant="caption" color="textSecondary">
+                        {payee.count} payments
+                      </Typography>
+                    </Box>
+                    <Typography variant="subtitle1" color="error">
+                      {formatCurrency(payee.amount)}
+                    </Typography>
+                  </Box>
+                ))
+              )}
+            </CardContent>
+          </Card>
+        </Grid>
       </Grid>
     </Box>
   )
@@ -30,6 +30,7 @@ import { AdapterDayjs } from '@mui/x-date-pickers/AdapterDayjs'
 import dayjs from 'dayjs'
 import accountService from '../services/accountService'
 import transactionService from '../services/transactionService'
+import eventService from '../services/eventService'
 import { toast } from 'react-toastify'
 
 const Transactions = () => {
@@ -56,6 +57,20 @@ const Transactions = () => {
     }
   }, [selectedAccount, page])
 
+  // New postings only change the page being shown when it is the first one
+  useEffect(() => {
+    if (page !== 0) {
+      return undefined
+    }
+    return eventService.subscribeToPostings((posting) => {
+      if (!selectedAccount) {
+        fetchAllTransactions()
+      } else if (posting.accountNumber === selectedAccount) {
+        fetchTransactions()
+      }
+    })
+  }, [selectedAccount, page])
+
   const fetchAccounts = async () => {
     try {
       const data = await accountService.getMyAccounts()
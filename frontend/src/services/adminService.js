@@ -1,11 +1,13 @@
 import api from './api'
 
 const adminService = {
-  getAllUsers: async () => {
-    console.log('AdminService: Making request to /admin/users')
-    console.log('API base URL:', api.defaults.baseURL)
-    const response = await api.get('/admin/users')
-    console.log('AdminService: Response received:', response)
+  getUsers: async (afterId = 0, size = 50) => {
+    const response = await api.get(`/admin/users?afterId=${afterId}&size=${size}`)
+    return response.data
+  },
+
+  searchUsers: async (query, limit = 20) => {
+    const response = await api.get(`/admin/users/search?q=${encodeURIComponent(query)}&limit=${limit}`)
     return response.data
   },
 
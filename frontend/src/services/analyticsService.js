@@ -0,0 +1,10 @@
+import api from './api'
+
+const analyticsService = {
+  getSpending: async (months = 6, top = 5) => {
+    const response = await api.get(`/analytics/spending?months=${months}&top=${top}`)
+    return response.data
+  },
+}
+
+export default analyticsService
@@ -0,0 +1,10 @@
+import api from './api'
+
+const dashboardService = {
+  getDashboard: async (recent = 5) => {
+    const response = await api.get(`/dashboard?recent=${recent}`)
+    return response.data
+  },
+}
+
+export default dashboardService
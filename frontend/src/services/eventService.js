@@ -0,0 +1,55 @@
+import api from './api'
+
+const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || '/api'
+
+const RECONNECT_DELAY_MS = 3000
+
+// EventSource cannot send an Authorization header, so each connection is opened with a
+// one-time ticket; the browser's own retry would reuse a spent ticket, so reconnects fetch a new one
+const eventService = {
+  subscribeToPostings: (onPosting) => {
+    let source = null
+    let retryTimer = null
+    let closed = false
+
+    const connect = async () => {
+      if (closed || !localStorage.getItem('token')) {
+        return
+      }
+      try {
+        const response = await api.post('/events/ticket')
+        if (closed) {
+          return
+        }
+        source = new EventSource(`${API_BASE_URL}/events/stream?ticket=${encodeURIComponent(response.data.ticket)}`)
+        source.addEventListener('posting', (event) => {
+          onPosting(JSON.parse(event.data))
+        })
+        source.onerror = () => {
+          source.close()
+          scheduleReconnect()
+        }
+      } catch (error) {
+        scheduleReconnect()
+      }
+    }
+
+    const scheduleReconnect = () => {
+      if (!closed) {
+        retryTimer = setTimeout(connect, RECONNECT_DELAY_MS)
+      }
+    }
+
+    connect()
+
+    return () => {
+      closed = true
+      clearTimeout(retryTimer)
+      if (source) {
+        source.close()
+      }
+    }
+  },
+}
+
+export default eventService
@@ -0,0 +1,65 @@
+#!/usr/bin/env python3
+# Compares a JMH JSON result against a baseline and exits with status 1 when any benchmark
+# regressed by more than the threshold.
+#
+#   python3 src/jmh/compare-baseline.py baseline.json target/jmh-result.json --threshold 10
+
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for run in json.load(f):
+            params = run.get("params") or {}
+            key = run["benchmark"] + "".join(f" {k}={params[k]}" for k in sorted(params))
+            results[key] = run
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flag JMH regressions against a baseline")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0,
+                        help="allowed slowdown in percent (default 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    for key in sorted(current):
+        run = current[key]
+        metric = run["primaryMetric"]
+        if key not in baseline:
+            print(f"NEW         {key}: {metric['score']:.3f} {metric['scoreUnit']}")
+            continue
+        before = baseline[key]["primaryMetric"]["score"]
+        after = metric["score"]
+        if before == 0:
+            continue
+        # Throughput is better when higher, every other mode (time per op) when lower
+        if run["mode"] == "thrpt":
+            slowdown = (before - after) / before * 100
+        else:
+            slowdown = (after - before) / before * 100
+        status = "REGRESSION" if slowdown > args.threshold else "ok"
+        if status == "REGRESSION":
+            regressions += 1
+        change = f"{slowdown:.1f}% slower" if slowdown > 0 else f"{-slowdown:.1f}% faster"
+        print(f"{status:<11} {key}: {before:.3f} -> {after:.3f} {metric['scoreUnit']} ({change})")
+
+    for key in sorted(set(baseline) - set(current)):
+        print(f"MISSING     {key}")
+
+    if regressions:
+        print(f"{regressions} benchmark(s) regressed by more than {args.threshold:g}%")
+        return 1
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
@@ -0,0 +1,83 @@
+package com.banking.security;
+
+import com.banking.entity.User;
+import com.banking.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// Cost of authenticating one request through AuthTokenFilter, with the verified-token
+// cache enabled (the same token reused across a page's API calls) and disabled
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+    
+    private static final String SECRET =
+            "mySecretKey1234567890123456789012345678901234567890123456789012345678901234567890";
+    
+    @Param({"true", "false"})
+    public boolean tokenCacheEnabled;
+    
+    private AuthTokenFilter filter;
+    private String bearer;
+    
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", tokenCacheEnabled ? 10000 : 0);
+        jwtUtils.init();
+        
+        User user = new User("demo", "unused", "demo@banking.com", "Demo", "User", "9876543210");
+        user.setId(1L);
+        bearer = "Bearer " + jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        
+        // Every user is enabled; the status cache only hits the repository once per TTL anyway
+        UserRepository userRepository = (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(), new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> "findEnabledById".equals(method.getName()) ? Optional.of(true) : null);
+        UserStatusCache userStatusCache = new UserStatusCache();
+        ReflectionTestUtils.setField(userStatusCache, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userStatusCache, "userStatusTtlMs", 30000L);
+        
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userStatusCache", userStatusCache);
+    }
+    
+    @Benchmark
+    public Object authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accounts/my-accounts");
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication.getPrincipal();
+    }
+}
@@ -0,0 +1,56 @@
+package com.banking.security;
+
+import com.banking.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+// Token validation alone, without the filter and security context around it
+// (AuthTokenFilterBenchmark covers the whole filter)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    
+    private static final String SECRET =
+            "mySecretKey1234567890123456789012345678901234567890123456789012345678901234567890";
+    
+    @Param({"true", "false"})
+    public boolean tokenCacheEnabled;
+    
+    private JwtUtils jwtUtils;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3600000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCacheSize", tokenCacheEnabled ? 10000 : 0);
+        jwtUtils.init();
+        
+        User user = new User("demo", "unused", "demo@banking.com", "Demo", "User", "9876543210");
+        user.setId(1L);
+        token = jwtUtils.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+    
+    @Benchmark
+    public UserPrincipal parseJwtToken() {
+        return jwtUtils.parseJwtToken(token);
+    }
+}
@@ -0,0 +1,40 @@
+package com.banking.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// One audit entry written in its own transaction, as the fraud rules do on every flagged
+// transfer, against the embedded database
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuditServiceBenchmark {
+    
+    private AuditService auditService;
+    private String accountNumber;
+    
+    @Setup
+    public void setUp(EmbeddedBank bank) {
+        auditService = bank.context.getBean(AuditService.class);
+        accountNumber = bank.firstAccountNumber;
+    }
+    
+    @Benchmark
+    public void logAction() {
+        auditService.logAction(EmbeddedBank.USERNAME, "FRAUD_ALERT_ROUND_AMOUNT", "Transaction",
+                               accountNumber, "Suspicious round amount: 2000.00", null);
+    }
+}
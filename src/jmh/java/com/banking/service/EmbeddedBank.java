@@ -0,0 +1,63 @@
+package com.banking.service;
+
+import com.banking.OnlineBankingSystemApplication;
+import com.banking.dto.AccountResponse;
+import com.banking.repository.UserRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// The whole application on its in-memory H2 database, seeded by DataInitializer with the demo
+// user and its two accounts. The web server is started on a random port because the security
+// configuration needs the MVC infrastructure; the benchmarks call the services directly.
+@State(Scope.Benchmark)
+public class EmbeddedBank {
+    
+    static final String USERNAME = "demo";
+    
+    ConfigurableApplicationContext context;
+    String firstAccountNumber;
+    String secondAccountNumber;
+    
+    private JdbcTemplate jdbcTemplate;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(OnlineBankingSystemApplication.class)
+                .properties("server.port=0",
+                            "management.server.port=-1",
+                            "demo-data.enabled=true",
+                            "spring.jpa.show-sql=false",
+                            "spring.jpa.properties.hibernate.format_sql=false",
+                            "logging.level.root=WARN")
+                .run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        
+        Long userId = context.getBean(UserRepository.class).findByUsername(USERNAME)
+                .orElseThrow(() -> new RuntimeException("Demo user not seeded"))
+                .getId();
+        List<AccountResponse> accounts = context.getBean(AccountService.class).getUserAccounts(userId);
+        firstAccountNumber = accounts.get(0).getAccountNumber();
+        secondAccountNumber = accounts.get(1).getAccountNumber();
+    }
+    
+    // Keeps the hourly velocity rule's query and the audit table at the same size in every
+    // iteration, instead of growing with the number of operations already measured
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM audit_logs");
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
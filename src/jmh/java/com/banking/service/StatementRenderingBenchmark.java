@@ -0,0 +1,80 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.entity.Account;
+import com.banking.entity.AccountType;
+import com.banking.entity.TransactionStatus;
+import com.banking.entity.TransactionType;
+import com.banking.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Statement rendering cost without the database. Run with -prof gc to get allocation per
+// statement; dividing by rowCount gives the per-row cost tracked across releases:
+//   mvn -Pjmh compile exec:exec -Djmh.args="StatementRenderingBenchmark -prof gc"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class StatementRenderingBenchmark {
+    
+    @Param({"10", "1000", "100000"})
+    public int rowCount;
+    
+    private final StatementRenderer renderer = new StatementRenderer();
+    
+    private Account account;
+    private List<TransactionResponse> rows;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    
+    @Setup
+    public void setUp() {
+        User user = new User("merchant", "unused", "merchant@banking.com", "Busy", "Merchant", "5550100");
+        account = new Account("ACC0000000001", AccountType.BUSINESS, user);
+        account.setBalance(new BigDecimal("125000.00"));
+        
+        endDate = LocalDateTime.of(2026, 1, 1, 0, 0);
+        startDate = endDate.minusYears(1);
+        
+        rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            boolean outgoing = i % 3 == 0;
+            rows.add(new TransactionResponse(
+                    (long) i,
+                    outgoing ? account.getAccountNumber() : String.format("ACC%010d", i % 5000),
+                    outgoing ? String.format("ACC%010d", i % 5000) : account.getAccountNumber(),
+                    BigDecimal.valueOf(100 + i % 90000, 2),
+                    TransactionType.TRANSFER,
+                    TransactionStatus.COMPLETED,
+                    "Invoice " + i,
+                    "TXN" + (1700000000000L + i),
+                    endDate.minusMinutes(i),
+                    endDate.minusMinutes(i)));
+        }
+    }
+    
+    @Benchmark
+    public void renderStatement() {
+        renderer.render(account, startDate.toLocalDate(), endDate.toLocalDate(), account.getBalance(),
+                        endDate, rows.iterator(), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,125 @@
+package com.banking.service;
+
+import com.banking.entity.Account;
+import com.banking.entity.AccountType;
+import com.banking.entity.Transaction;
+import com.banking.entity.TransactionStatus;
+import com.banking.entity.TransactionType;
+import com.banking.entity.User;
+import com.banking.repository.AuditLogRepository;
+import com.banking.repository.TransactionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The in-memory part of a transfer: limit validation, the fraud rules over the last hour's
+// transactions (served from a stub repository) and the response mapping. The amount decides
+// whether the round-amount and weekend rules write an audit entry (to a stub repository too).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransferChecksBenchmark {
+    
+    @Param({"0", "20", "200"})
+    public int recentTransactions;
+    
+    @Param({"123.45", "4900.00"})
+    public BigDecimal amount;
+    
+    private TransactionService transactionService;
+    private Account fromAccount;
+    private Account toAccount;
+    private Transaction transaction;
+    
+    @Setup
+    public void setUp() {
+        User owner = new User("demo", "unused", "demo@banking.com", "Demo", "User", "9876543210");
+        owner.setId(1L);
+        User payee = new User("payee", "unused", "payee@banking.com", "Pay", "Ee", "5550100");
+        payee.setId(2L);
+        fromAccount = account(1L, "ACC0000000001", owner);
+        // Opened long ago, so the new account limit does not apply
+        fromAccount.setCreatedAt(LocalDateTime.now().minusYears(1));
+        toAccount = account(2L, "ACC0000000002", payee);
+        
+        List<Transaction> recent = new ArrayList<>(recentTransactions);
+        for (int i = 0; i < recentTransactions; i++) {
+            Transaction posted = new Transaction(fromAccount, toAccount, new BigDecimal("10.00"),
+                                                 TransactionType.TRANSFER, "Recent " + i);
+            posted.setStatus(TransactionStatus.COMPLETED);
+            recent.add(posted);
+        }
+        TransactionRepository transactionRepository = stub(TransactionRepository.class,
+                "findByAccountAndDateRange", recent);
+        AuditLogRepository auditLogRepository = stub(AuditLogRepository.class, "save", null);
+        
+        AuditService auditService = new AuditService();
+        ReflectionTestUtils.setField(auditService, "auditLogRepository", auditLogRepository);
+        TransferMetrics transferMetrics = new TransferMetrics();
+        ReflectionTestUtils.setField(transferMetrics, "meterRegistry", new SimpleMeterRegistry());
+        transferMetrics.init();
+        
+        transactionService = new TransactionService();
+        ReflectionTestUtils.setField(transactionService, "transactionRepository", transactionRepository);
+        ReflectionTestUtils.setField(transactionService, "auditService", auditService);
+        ReflectionTestUtils.setField(transactionService, "transferMetrics", transferMetrics);
+        
+        transaction = new Transaction(fromAccount, toAccount, amount, TransactionType.TRANSFER, "Benchmark");
+        transaction.setId(42L);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setProcessedDate(LocalDateTime.now());
+    }
+    
+    @Benchmark
+    public void validateTransferLimits() {
+        transactionService.validateTransferLimits(fromAccount, amount, "demo");
+    }
+    
+    @Benchmark
+    public void performFraudChecks() {
+        transactionService.performFraudChecks(fromAccount, toAccount, amount, "demo");
+    }
+    
+    @Benchmark
+    public Object convertToTransactionResponse() {
+        return transactionService.convertToTransactionResponse(transaction);
+    }
+    
+    private static Account account(Long id, String accountNumber, User user) {
+        Account account = new Account(accountNumber, AccountType.CHECKING, user);
+        account.setId(id);
+        account.setBalance(new BigDecimal("1000000.00"));
+        return account;
+    }
+    
+    // Repository stub answering one method; save returns its argument like the real one
+    private static <T> T stub(Class<T> type, String methodName, Object result) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().equals(methodName)) {
+                        return "save".equals(methodName) ? args[0] : result;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                }));
+    }
+}
@@ -0,0 +1,49 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.dto.TransferRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// A complete transfer through the transactional service against the embedded database:
+// account loads, limit and fraud checks, balance updates, the transaction row, the audit
+// entry and the commit. Transfers alternate direction so both balances stay where they are.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransferFundsBenchmark {
+    
+    private static final BigDecimal AMOUNT = new BigDecimal("0.25");
+    
+    private TransactionService transactionService;
+    private TransferRequest outbound;
+    private TransferRequest inbound;
+    private boolean reverse;
+    
+    @Setup
+    public void setUp(EmbeddedBank bank) {
+        transactionService = bank.context.getBean(TransactionService.class);
+        outbound = new TransferRequest(bank.firstAccountNumber, bank.secondAccountNumber, AMOUNT, "Benchmark");
+        inbound = new TransferRequest(bank.secondAccountNumber, bank.firstAccountNumber, AMOUNT, "Benchmark");
+    }
+    
+    @Benchmark
+    public TransactionResponse transferFunds() {
+        reverse = !reverse;
+        return transactionService.transferFunds(reverse ? inbound : outbound, EmbeddedBank.USERNAME);
+    }
+}
@@ -0,0 +1,161 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+// The API calls the load test makes, over the JDK HTTP client
+public class BankingClient {
+    
+    private static final String PASSWORD = "loadtest123";
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("10000.00");
+    
+    private final String baseUrl;
+    private final Duration timeout;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    public BankingClient(String baseUrl, Duration timeout) {
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+    
+    // Registers and signs in a new user, opens a checking and a savings account and funds both
+    public VirtualUser createUser(String username) {
+        Map<String, String> signup = new LinkedHashMap<>();
+        signup.put("username", username);
+        signup.put("password", PASSWORD);
+        signup.put("email", username + "@loadtest.local");
+        signup.put("firstName", "Load");
+        signup.put("lastName", "Test");
+        signup.put("phoneNumber", "5550100");
+        send(post("/auth/signup", signup, null));
+        
+        Map<String, String> signin = new LinkedHashMap<>();
+        signin.put("username", username);
+        signin.put("password", PASSWORD);
+        String token = readJson(send(post("/auth/signin", signin, null))).get("token").asText();
+        String authorization = "Bearer " + token;
+        
+        send(request("/accounts/create?accountType=CHECKING", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        send(request("/accounts/create?accountType=SAVINGS", authorization)
+                .POST(HttpRequest.BodyPublishers.noBody()).build());
+        
+        String checking = null;
+        String savings = null;
+        for (JsonNode account : readJson(send(request("/accounts/my-accounts", authorization).GET().build()))) {
+            if ("CHECKING".equals(account.get("accountType").asText())) {
+                checking = account.get("accountNumber").asText();
+            } else if ("SAVINGS".equals(account.get("accountType").asText())) {
+                savings = account.get("accountNumber").asText();
+            }
+        }
+        if (checking == null || savings == null) {
+            throw new RuntimeException("Accounts were not created for " + username);
+        }
+        
+        VirtualUser user = new VirtualUser(username, token, checking, savings);
+        send(deposit(user, checking, INITIAL_BALANCE));
+        send(deposit(user, savings, INITIAL_BALANCE));
+        return user;
+    }
+    
+    // One request of the given operation; amounts stay small so the transfer limits and
+    // fraud rules let the postings through for the length of a run
+    public HttpRequest request(Operation operation, VirtualUser user, VirtualUser payee, Random random) {
+        String account = random.nextBoolean() ? user.getCheckingAccountNumber() : user.getSavingsAccountNumber();
+        return switch (operation) {
+            case BALANCE -> request("/accounts/" + account + "/balance", user.getAuthorization()).GET().build();
+            case HISTORY -> request("/transactions/account/" + account + "?page=0&size=10", user.getAuthorization())
+                    .GET().build();
+            case TRANSFER -> {
+                Map<String, Object> transfer = new LinkedHashMap<>();
+                transfer.put("fromAccountNumber", account);
+                transfer.put("toAccountNumber", random.nextBoolean()
+                        ? payee.getCheckingAccountNumber() : payee.getSavingsAccountNumber());
+                transfer.put("amount", BigDecimal.valueOf(1 + random.nextInt(500), 2));
+                transfer.put("description", "Load test");
+                yield post("/transactions/transfer", transfer, user.getAuthorization());
+            }
+            case DEPOSIT -> deposit(user, account, BigDecimal.valueOf(100 + random.nextInt(9901), 2));
+            case STATEMENT -> {
+                LocalDateTime endDate = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                yield request("/transactions/account/" + account + "/statement?startDate=" + endDate.minusDays(30)
+                        + "&endDate=" + endDate, user.getAuthorization()).GET().build();
+            }
+        };
+    }
+    
+    // The body is read to the end and dropped, so streamed statements are timed until the last byte
+    public CompletableFuture<HttpResponse<Void>> sendAsync(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+    }
+    
+    private HttpRequest deposit(VirtualUser user, String accountNumber, BigDecimal amount) {
+        return request("/accounts/" + accountNumber + "/deposit?amount=" + amount.toPlainString(),
+                       user.getAuthorization())
+                .POST(HttpRequest.BodyPublishers.noBody()).build();
+    }
+    
+    private HttpRequest post(String path, Object body, String authorization) {
+        try {
+            return request(path, authorization)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    private HttpRequest.Builder request(String path, String authorization) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(timeout);
+        if (authorization != null) {
+            builder.header("Authorization", authorization);
+        }
+        return builder;
+    }
+    
+    private String send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 300) {
+                throw new RuntimeException(request.method() + " " + request.uri().getPath() + " returned "
+                        + response.statusCode() + ": " + response.body());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during setup");
+        }
+    }
+    
+    private JsonNode readJson(String body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.banking.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: requests are started on a schedule set by the arrival rate, whether or not
+// earlier ones have completed, as independent clients would. Each request is timed from its
+// scheduled start, so a stalled server shows up in the latencies of everything that was due
+// while it stalled instead of only in the one slow request (coordinated omission).
+public class LoadGenerator {
+    
+    private final BankingClient client;
+    private final List<VirtualUser> users;
+    private final LoadTestOptions options;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    
+    public LoadGenerator(BankingClient client, List<VirtualUser> users, LoadTestOptions options) {
+        this.client = client;
+        this.users = users;
+        this.options = options;
+        this.random = new Random(options.getSeed());
+        
+        Map<Operation, Integer> mix = options.getMix();
+        operations = mix.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    public StepResult run(double rate) throws InterruptedException {
+        StepResult result = new StepResult(rate, options.getDurationSeconds());
+        long highestMicros = TimeUnit.SECONDS.toMicros(options.getTimeoutSeconds()) * 2;
+        for (Operation operation : operations) {
+            result.getOperations().put(operation, new OperationStats(highestMicros));
+        }
+        
+        // Every completion, warm-up included, for the per-second timeline
+        Recorder recorder = new Recorder(1, highestMicros, 2);
+        LongAdder intervalErrors = new LongAdder();
+        AtomicInteger second = new AtomicInteger();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "loadtest-timeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(() -> sample(result, recorder, intervalErrors, second.incrementAndGet()),
+                                    1, 1, TimeUnit.SECONDS);
+        
+        AtomicLong inFlight = new AtomicLong();
+        long maxInFlight = 0;
+        long maxSendLag = 0;
+        double periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+        
+        double offset = 0;
+        while (true) {
+            final long intended = start + (long) offset;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            
+            final Operation operation = nextOperation();
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            VirtualUser payee = users.get(random.nextInt(users.size()));
+            HttpRequest request = client.request(operation, user, payee, random);
+            final boolean measured = intended >= measureFrom;
+            final long sent = System.nanoTime();
+            if (measured) {
+                maxSendLag = Math.max(maxSendLag, sent - intended);
+            }
+            maxInFlight = Math.max(maxInFlight, inFlight.incrementAndGet());
+            
+            client.sendAsync(request).whenComplete((response, error) -> {
+                long done = System.nanoTime();
+                int status = response != null ? response.statusCode() : OperationStats.NO_RESPONSE;
+                long responseMicros = (done - intended) / 1000;
+                recorder.recordValue(Math.max(1, Math.min(responseMicros, highestMicros)));
+                if (OperationStats.isError(status)) {
+                    intervalErrors.increment();
+                }
+                if (measured) {
+                    result.getOperations().get(operation).record(responseMicros, (done - sent) / 1000, status);
+                }
+                inFlight.decrementAndGet();
+            });
+            
+            // Exponential gaps give Poisson arrivals, as from many independent users
+            offset += options.isPoisson() ? -Math.log(1 - random.nextDouble()) * periodNanos : periodNanos;
+        }
+        
+        // Requests still outstanding time out on their own after --timeout
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(options.getTimeoutSeconds() + 5);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+        sampler.shutdown();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+        sample(result, recorder, intervalErrors, second.incrementAndGet());
+        
+        result.setMaxInFlight(maxInFlight);
+        result.setMaxSendLagMicros(maxSendLag / 1000);
+        return result;
+    }
+    
+    private Operation nextOperation() {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    private void sample(StepResult result, Recorder recorder, LongAdder intervalErrors, int second) {
+        Histogram interval = recorder.getIntervalHistogram();
+        long errors = intervalErrors.sumThenReset();
+        result.getTimeline().add(new StepResult.TimelinePoint(second, second <= options.getWarmupSeconds(),
+                interval.getTotalCount(), errors, millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue())));
+    }
+    
+    static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
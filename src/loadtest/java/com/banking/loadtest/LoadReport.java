@@ -0,0 +1,238 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Writes report.json, report.html and one HdrHistogram percentile file (.hgrm) per rate and
+// operation, which the HdrHistogram plotter can overlay to compare runs
+public class LoadReport {
+    
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+    
+    private final LoadTestOptions options;
+    private final List<StepResult> steps;
+    private final LocalDateTime startedAt;
+    
+    public LoadReport(LoadTestOptions options, List<StepResult> steps, LocalDateTime startedAt) {
+        this.options = options;
+        this.steps = steps;
+        this.startedAt = startedAt;
+    }
+    
+    public Path write() throws IOException {
+        Path directory = options.getOutputDirectory();
+        Files.createDirectories(directory);
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(directory.resolve("report.json").toFile(), toJson());
+        Files.writeString(directory.resolve("report.html"), toHtml());
+        for (StepResult step : steps) {
+            for (Map.Entry<Operation, OperationStats> entry : step.getOperations().entrySet()) {
+                Path file = directory.resolve("rate-" + rateLabel(step.getTargetRate()) + "-" + entry.getKey().getKey() + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                    entry.getValue().getResponseTime().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        }
+        return directory.resolve("report.html");
+    }
+    
+    // Response time of every operation together, for the rate-by-rate summary
+    static Histogram combined(StepResult step) {
+        Histogram all = null;
+        for (OperationStats stats : step.getOperations().values()) {
+            if (all == null) {
+                all = new Histogram(1, stats.getResponseTime().getHighestTrackableValue(), 3);
+            }
+            all.add(stats.getResponseTime());
+        }
+        return all;
+    }
+    
+    private Map<String, Object> toJson() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", options.getBaseUrl());
+        config.put("embedded", options.isEmbedded());
+        config.put("arrival", options.isPoisson() ? "poisson" : "constant");
+        config.put("durationSeconds", options.getDurationSeconds());
+        config.put("warmupSeconds", options.getWarmupSeconds());
+        config.put("users", options.getUsers());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.getMix().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+        config.put("mix", mix);
+        config.put("timeoutSeconds", options.getTimeoutSeconds());
+        config.put("seed", options.getSeed());
+        
+        List<Object> stepList = new ArrayList<>();
+        for (StepResult step : steps) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("targetRate", step.getTargetRate());
+            json.put("achievedRate", round(step.getAchievedRate()));
+            json.put("requests", step.getCount());
+            json.put("errors", step.getErrors());
+            json.put("maxInFlight", step.getMaxInFlight());
+            json.put("maxSendLagMillis", LoadGenerator.millis(step.getMaxSendLagMicros()));
+            json.put("responseTimeMillis", latencies(combined(step)));
+            
+            Map<String, Object> operations = new LinkedHashMap<>();
+            step.getOperations().forEach((operation, stats) -> {
+                Map<String, Object> op = new LinkedHashMap<>();
+                op.put("requests", stats.getCount());
+                op.put("errors", stats.getErrors());
+                op.put("statuses", stats.getStatuses());
+                op.put("responseTimeMillis", latencies(stats.getResponseTime()));
+                op.put("serviceTimeMillis", latencies(stats.getServiceTime()));
+                operations.put(operation.getKey(), op);
+            });
+            json.put("operations", operations);
+            json.put("timeline", step.getTimeline());
+            stepList.add(json);
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", startedAt.toString());
+        report.put("config", config);
+        report.put("steps", stepList);
+        return report;
+    }
+    
+    private static Map<String, Object> latencies(Histogram histogram) {
+        Map<String, Object> latencies = new LinkedHashMap<>();
+        if (histogram == null || histogram.getTotalCount() == 0) {
+            return latencies;
+        }
+        latencies.put("mean", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            latencies.put("p" + percentileLabel(percentile),
+                          LoadGenerator.millis(histogram.getValueAtPercentile(percentile)));
+        }
+        latencies.put("max", LoadGenerator.millis(histogram.getMaxValue()));
+        return latencies;
+    }
+    
+    private String toHtml() {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"UTF-8\"><title>Load test report</title>\n")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin:1em 0}")
+            .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+            .append(".error{color:#b00}svg{border:1px solid #ccc}</style></head><body>\n")
+            .append("<h1>Load test report</h1>\n<p>Started ").append(startedAt.withNano(0)).append(" against ")
+            .append(escape(options.getBaseUrl())).append(options.isEmbedded() ? " (embedded)" : "")
+            .append(". ").append(options.isPoisson() ? "Poisson" : "Constant").append(" arrivals, ")
+            .append(options.getUsers()).append(" users, ").append(options.getWarmupSeconds()).append(" s warm-up and ")
+            .append(options.getDurationSeconds()).append(" s measured per rate. Mix: ");
+        options.getMix().forEach((operation, weight) -> html.append(operation.getKey()).append('=').append(weight).append(' '));
+        html.append("</p>\n<p>Response time runs from when a request was due to be sent, so it includes any time ")
+            .append("it waited behind a slow server; service time runs from when it was actually sent.</p>\n");
+        
+        html.append("<h2>Summary</h2>\n<table><tr><th>Target rate/s</th><th>Achieved/s</th><th>Requests</th>")
+            .append("<th>Errors</th><th>p50 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>Max ms</th>")
+            .append("<th>Max in flight</th><th>Max send lag ms</th></tr>\n");
+        for (StepResult step : steps) {
+            Histogram all = combined(step);
+            html.append("<tr><td>").append(format(step.getTargetRate())).append("</td><td>")
+                .append(format(step.getAchievedRate())).append("</td><td>").append(step.getCount())
+                .append("</td><td").append(step.getErrors() > 0 ? " class=\"error\">" : ">").append(step.getErrors())
+                .append("</td>");
+            for (double percentile : new double[]{50, 99, 99.9, 100}) {
+                html.append("<td>").append(format(LoadGenerator.millis(all.getValueAtPercentile(percentile)))).append("</td>");
+            }
+            html.append("<td>").append(step.getMaxInFlight()).append("</td><td>")
+                .append(format(LoadGenerator.millis(step.getMaxSendLagMicros()))).append("</td></tr>\n");
+        }
+        html.append("</table>\n<p>A send lag close to the response times means the generator itself could not ")
+            .append("keep up; use fewer users or a lower rate, or run it on another machine.</p>\n");
+        
+        for (StepResult step : steps) {
+            html.append("<h2>").append(format(step.getTargetRate())).append(" requests/s</h2>\n")
+                .append("<table><tr><th>Operation</th><th>Requests</th><th>Errors</th><th>Statuses</th>");
+            for (double percentile : PERCENTILES) {
+                html.append("<th>p").append(percentileLabel(percentile)).append(" ms</th>");
+            }
+            html.append("<th>Max ms</th><th>Service p50 ms</th><th>Service p99 ms</th></tr>\n");
+            step.getOperations().forEach((operation, stats) -> {
+                Histogram response = stats.getResponseTime();
+                html.append("<tr><td>").append(operation.getKey()).append("</td><td>").append(stats.getCount())
+                    .append("</td><td").append(stats.getErrors() > 0 ? " class=\"error\">" : ">").append(stats.getErrors())
+                    .append("</td><td>");
+                stats.getStatuses().forEach((status, count) -> html.append(status == OperationStats.NO_RESPONSE
+                        ? "none" : status).append(':').append(count).append(' '));
+                html.append("</td>");
+                for (double percentile : PERCENTILES) {
+                    html.append("<td>").append(format(LoadGenerator.millis(response.getValueAtPercentile(percentile))))
+                        .append("</td>");
+                }
+                html.append("<td>").append(format(LoadGenerator.millis(response.getMaxValue()))).append("</td><td>")
+                    .append(format(LoadGenerator.millis(stats.getServiceTime().getValueAtPercentile(50)))).append("</td><td>")
+                    .append(format(LoadGenerator.millis(stats.getServiceTime().getValueAtPercentile(99)))).append("</td></tr>\n");
+            });
+            html.append("</table>\n");
+            appendTimeline(html, step.getTimeline());
+        }
+        
+        html.append("</body></html>\n");
+        return html.toString();
+    }
+    
+    // p99 response time (line) and completions (bars) per second; the warm-up is shaded
+    private void appendTimeline(StringBuilder html, List<StepResult.TimelinePoint> timeline) {
+        if (timeline.isEmpty()) {
+            return;
+        }
+        int width = 800;
+        int height = 200;
+        double maxLatency = timeline.stream().mapToDouble(StepResult.TimelinePoint::getP99Millis).max().orElse(0);
+        long maxCompleted = timeline.stream().mapToLong(StepResult.TimelinePoint::getCompleted).max().orElse(0);
+        double step = (double) width / timeline.size();
+        
+        html.append("<p>Per second: completed requests (bars, up to ").append(maxCompleted)
+            .append(") and p99 response time (line, up to ").append(format(maxLatency)).append(" ms)</p>\n")
+            .append("<svg width=\"").append(width).append("\" height=\"").append(height).append("\">");
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < timeline.size(); i++) {
+            StepResult.TimelinePoint point = timeline.get(i);
+            double x = i * step;
+            if (point.isWarmup()) {
+                html.append(String.format(Locale.ROOT, "<rect x=\"%.1f\" y=\"0\" width=\"%.1f\" height=\"%d\" fill=\"#eee\"/>",
+                                          x, step, height));
+            }
+            double barHeight = maxCompleted > 0 ? (double) point.getCompleted() / maxCompleted * (height - 10) : 0;
+            html.append(String.format(Locale.ROOT, "<rect x=\"%.1f\" y=\"%.1f\" width=\"%.1f\" height=\"%.1f\" fill=\"%s\"/>",
+                                      x, height - barHeight, Math.max(step - 1, 1), barHeight,
+                                      point.getErrors() > 0 ? "#e8a0a0" : "#a0c0e8"));
+            double y = maxLatency > 0 ? height - point.getP99Millis() / maxLatency * (height - 10) : height;
+            line.append(String.format(Locale.ROOT, "%.1f,%.1f ", x + step / 2, y));
+        }
+        html.append("<polyline fill=\"none\" stroke=\"#c04000\" stroke-width=\"2\" points=\"").append(line)
+            .append("\"/></svg>\n");
+    }
+    
+    private static String rateLabel(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+    
+    private static String percentileLabel(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile);
+    }
+    
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+    
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
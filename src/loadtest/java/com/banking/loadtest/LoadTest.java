@@ -0,0 +1,85 @@
+package com.banking.loadtest;
+
+import com.banking.OnlineBankingSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Drives a mix of banking calls at fixed arrival rates and reports latency per operation:
+// mvn -Ploadtest compile exec:exec -Dloadtest.args="--embedded --rate=50,100,200"
+public class LoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options;
+        try {
+            options = LoadTestOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+        
+        ConfigurableApplicationContext application = null;
+        if (options.isEmbedded()) {
+            application = startEmbedded();
+            options.setBaseUrl("http://localhost:"
+                    + ((WebServerApplicationContext) application).getWebServer().getPort() + "/api");
+        }
+        
+        try {
+            BankingClient client = new BankingClient(options.getBaseUrl(), Duration.ofSeconds(options.getTimeoutSeconds()));
+            
+            // Fresh users on every run, so a long-running server never sees a name twice
+            String prefix = "load" + Long.toString(System.currentTimeMillis(), 36);
+            List<VirtualUser> users = new ArrayList<>();
+            System.out.printf("Creating %d users against %s%n", options.getUsers(), options.getBaseUrl());
+            for (int i = 0; i < options.getUsers(); i++) {
+                users.add(client.createUser(prefix + "u" + i));
+            }
+            
+            LocalDateTime startedAt = LocalDateTime.now();
+            LoadGenerator generator = new LoadGenerator(client, users, options);
+            List<StepResult> steps = new ArrayList<>();
+            for (double rate : options.getRates()) {
+                System.out.printf("Running %.1f requests/s: %d s warm-up, %d s measured%n",
+                                  rate, options.getWarmupSeconds(), options.getDurationSeconds());
+                StepResult step = generator.run(rate);
+                steps.add(step);
+                System.out.printf("  achieved %.1f/s, %d errors, p99 %.2f ms%n", step.getAchievedRate(), step.getErrors(),
+                                  LoadGenerator.millis(LoadReport.combined(step).getValueAtPercentile(99)));
+            }
+            
+            Path report = new LoadReport(options, steps, startedAt).write();
+            System.out.println("Report written to " + report.toAbsolutePath());
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+    
+    // The application on its in-memory H2 database, on a free port. Per-user request limits
+    // would turn the measurement into one of the limiter, so they are switched off here; start
+    // a separate instance with --rate-limit.enabled=false to get the same behaviour. The
+    // actuator port is fixed in the configuration, so it is switched off to let runs coexist
+    // with a running instance.
+    private static ConfigurableApplicationContext startEmbedded() {
+        return new SpringApplicationBuilder(OnlineBankingSystemApplication.class)
+                .properties("server.port=0",
+                            "management.server.port=-1",
+                            "spring.jpa.show-sql=false",
+                            "spring.jpa.properties.hibernate.format_sql=false",
+                            "logging.level.root=WARN",
+                            "rate-limit.enabled=false",
+                            "auth.throttle.ip-burst=100000",
+                            "auth.throttle.ip-per-minute=100000")
+                .run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.banking.loadtest;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line options, all given as --name=value
+public class LoadTestOptions {
+    
+    static final String USAGE = String.join("\n",
+            "Usage: LoadTest [--name=value ...]",
+            "  --base-url=URL      application to load (default http://localhost:8080/api)",
+            "  --embedded          start the application in this JVM on its in-memory H2 database",
+            "  --rate=R[,R...]     arrivals per second; several rates run one after another (default 50)",
+            "  --arrival=KIND      poisson or constant inter-arrival times (default poisson)",
+            "  --duration=S        measured seconds per rate (default 60)",
+            "  --warmup=S          unmeasured seconds before each rate (default 10)",
+            "  --users=N           signed-in users the requests are spread over (default 20)",
+            "  --mix=OP=W,...      operation weights (default " + Operation.DEFAULT_MIX + ")",
+            "  --timeout=S         per-request timeout (default 30)",
+            "  --seed=N            random seed for arrivals, users and amounts (default 42)",
+            "  --out=DIR           report directory (default target/loadtest)");
+    
+    private String baseUrl = "http://localhost:8080/api";
+    private boolean embedded;
+    private List<Double> rates = List.of(50.0);
+    private boolean poisson = true;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private int users = 20;
+    private Map<Operation, Integer> mix = Operation.parseMix(Operation.DEFAULT_MIX);
+    private int timeoutSeconds = 30;
+    private long seed = 42;
+    private Path outputDirectory = Path.of("target", "loadtest");
+    
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(separator < 0 ? arg.substring(2) : arg.substring(2, separator),
+                       separator < 0 ? "true" : arg.substring(separator + 1));
+        }
+        
+        LoadTestOptions options = new LoadTestOptions();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "base-url" -> options.baseUrl = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                case "embedded" -> options.embedded = Boolean.parseBoolean(value);
+                case "rate" -> options.rates = parseRates(value);
+                case "arrival" -> options.poisson = parseArrival(value);
+                case "duration" -> options.durationSeconds = positive(entry.getKey(), value);
+                case "warmup" -> options.warmupSeconds = Integer.parseInt(value);
+                case "users" -> options.users = positive(entry.getKey(), value);
+                case "mix" -> options.mix = Operation.parseMix(value);
+                case "timeout" -> options.timeoutSeconds = positive(entry.getKey(), value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "out" -> options.outputDirectory = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + entry.getKey());
+            }
+        }
+        return options;
+    }
+    
+    private static List<Double> parseRates(String value) {
+        List<Double> rates = new ArrayList<>();
+        for (String rate : value.split(",")) {
+            double parsed = Double.parseDouble(rate.trim());
+            if (parsed <= 0) {
+                throw new IllegalArgumentException("Rates must be positive: " + value);
+            }
+            rates.add(parsed);
+        }
+        return rates;
+    }
+    
+    private static boolean parseArrival(String value) {
+        return switch (value) {
+            case "poisson" -> true;
+            case "constant" -> false;
+            default -> throw new IllegalArgumentException("Unknown arrival kind: " + value);
+        };
+    }
+    
+    private static int positive(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException("--" + name + " must be positive");
+        }
+        return parsed;
+    }
+    
+    // Getters
+    public String getBaseUrl() { return baseUrl; }
+    
+    public boolean isEmbedded() { return embedded; }
+    
+    public List<Double> getRates() { return rates; }
+    
+    public boolean isPoisson() { return poisson; }
+    
+    public int getDurationSeconds() { return durationSeconds; }
+    
+    public int getWarmupSeconds() { return warmupSeconds; }
+    
+    public int getUsers() { return users; }
+    
+    public Map<Operation, Integer> getMix() { return new EnumMap<>(mix); }
+    
+    public int getTimeoutSeconds() { return timeoutSeconds; }
+    
+    public long getSeed() { return seed; }
+    
+    public Path getOutputDirectory() { return outputDirectory; }
+    
+    void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
+}
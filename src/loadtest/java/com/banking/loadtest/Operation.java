@@ -0,0 +1,54 @@
+package com.banking.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+public enum Operation {
+    BALANCE("balance"),
+    HISTORY("history"),
+    TRANSFER("transfer"),
+    DEPOSIT("deposit"),
+    STATEMENT("statement");
+    
+    // Mostly reads, as on the dashboard, with a share of postings and the occasional PDF
+    static final String DEFAULT_MIX = "balance=40,history=30,transfer=15,deposit=10,statement=5";
+    
+    private final String key;
+    
+    Operation(String key) {
+        this.key = key;
+    }
+    
+    public String getKey() { return key; }
+    
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+    
+    // "balance=40,transfer=10" -> weights; operations left out are not run
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Mix entries look like operation=weight: " + part);
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weights cannot be negative: " + part);
+            }
+            if (weight > 0) {
+                mix.put(fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,61 @@
+package com.banking.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies of one operation over the measured part of a step, in microseconds. Response time
+// runs from when the request was due to be sent, so time spent queued behind a slow server or
+// a late generator counts; service time runs from when it was actually sent.
+public class OperationStats {
+    
+    // Status recorded for requests that failed without a response (timeouts, refused connections)
+    static final int NO_RESPONSE = 0;
+    
+    private final Histogram responseTime;
+    private final Histogram serviceTime;
+    private final LongAdder errors = new LongAdder();
+    private final ConcurrentMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    
+    OperationStats(long highestMicros) {
+        responseTime = new ConcurrentHistogram(1, highestMicros, 3);
+        serviceTime = new ConcurrentHistogram(1, highestMicros, 3);
+    }
+    
+    void record(long responseMicros, long serviceMicros, int status) {
+        responseTime.recordValue(clamp(responseTime, responseMicros));
+        serviceTime.recordValue(clamp(serviceTime, serviceMicros));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        if (isError(status)) {
+            errors.increment();
+        }
+    }
+    
+    // 304 answers a conditional balance read; anything else outside 2xx is a failure
+    static boolean isError(int status) {
+        return status == NO_RESPONSE || (status >= 300 && status != 304);
+    }
+    
+    private static long clamp(Histogram histogram, long micros) {
+        return Math.max(1, Math.min(micros, histogram.getHighestTrackableValue()));
+    }
+    
+    public Histogram getResponseTime() { return responseTime; }
+    
+    public Histogram getServiceTime() { return serviceTime; }
+    
+    public long getCount() { return responseTime.getTotalCount(); }
+    
+    public long getErrors() { return errors.sum(); }
+    
+    public Map<Integer, Long> getStatuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,213 @@
+package com.banking.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Starts the application several times and measures the time to its first successful request,
+// along with the startup time Spring Boot logs itself. Compares launch modes, e.g.:
+// mvn -Ploadtest compile exec:exec -Dloadtest.main=com.banking.loadtest.StartupBenchmark
+//     -Dloadtest.args="--label=cds -- java -XX:SharedArchiveFile=target/app/app.jsa ..."
+public class StartupBenchmark {
+    
+    static final String USAGE = String.join("\n",
+            "Usage: StartupBenchmark [--name=value ...] -- command [args ...]",
+            "  --runs=N       launches measured (default 5)",
+            "  --url=URL      polled until it answers 200 (default http://localhost:8080/api/health)",
+            "  --timeout=S    per launch (default 120)",
+            "  --label=NAME   name of this launch mode in the report (default startup)",
+            "  --out=DIR      report directory (default target/startup)");
+    
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+    
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    
+    public static void main(String[] args) throws Exception {
+        int runs = 5;
+        String url = "http://localhost:8080/api/health";
+        int timeoutSeconds = 120;
+        String label = "startup";
+        Path outputDirectory = Path.of("target", "startup");
+        List<String> command = new ArrayList<>();
+        
+        try {
+            int i = 0;
+            for (; i < args.length && !args[i].equals("--"); i++) {
+                String arg = args[i];
+                int separator = arg.indexOf('=');
+                if (!arg.startsWith("--") || separator < 0) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                String value = arg.substring(separator + 1);
+                switch (arg.substring(2, separator)) {
+                    case "runs" -> runs = Integer.parseInt(value);
+                    case "url" -> url = value;
+                    case "timeout" -> timeoutSeconds = Integer.parseInt(value);
+                    case "label" -> label = value;
+                    case "out" -> outputDirectory = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option: " + arg.substring(0, separator));
+                }
+            }
+            command.addAll(Arrays.asList(args).subList(Math.min(i + 1, args.length), args.length));
+            if (command.isEmpty()) {
+                throw new IllegalArgumentException("No command given after --");
+            }
+            if (runs <= 0 || timeoutSeconds <= 0) {
+                throw new IllegalArgumentException("--runs and --timeout must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        
+        List<Double> firstRequestSeconds = new ArrayList<>();
+        List<Double> reportedSeconds = new ArrayList<>();
+        System.out.printf("Launching %d times: %s%n", runs, String.join(" ", command));
+        for (int run = 1; run <= runs; run++) {
+            Launch launch = launch(command, client, request, Duration.ofSeconds(timeoutSeconds));
+            firstRequestSeconds.add(launch.firstRequestSeconds);
+            if (launch.reportedSeconds != null) {
+                reportedSeconds.add(launch.reportedSeconds);
+            }
+            System.out.printf("  run %d: first request after %.3f s, Spring Boot reported %s%n", run,
+                              launch.firstRequestSeconds,
+                              launch.reportedSeconds != null ? launch.reportedSeconds + " s" : "nothing");
+        }
+        
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("command", command);
+        report.put("runs", runs);
+        report.put("firstRequestSeconds", summary(firstRequestSeconds));
+        report.put("reportedStartupSeconds", summary(reportedSeconds));
+        
+        Files.createDirectories(outputDirectory);
+        Path file = outputDirectory.resolve(label + ".json");
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+        System.out.printf("First request: min %.3f s, median %.3f s, max %.3f s%n",
+                          min(firstRequestSeconds), median(firstRequestSeconds), max(firstRequestSeconds));
+        System.out.println("Report written to " + file.toAbsolutePath());
+    }
+    
+    private static Launch launch(List<String> command, HttpClient client, HttpRequest request, Duration timeout)
+            throws IOException, InterruptedException {
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        
+        // Drains the output, so the application never blocks on a full pipe, and picks up its own timing
+        CompletableFuture<Double> reported = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (!reported.isDone() && matcher.find()) {
+                        reported.complete(Double.parseDouble(matcher.group(1)));
+                    }
+                }
+            } catch (IOException e) {
+                // Stream closed when the process is destroyed
+            }
+            reported.complete(null);
+        }, "startup-output");
+        reader.setDaemon(true);
+        reader.start();
+        
+        try {
+            long deadline = startedAt + timeout.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new RuntimeException("Application exited with status " + process.exitValue() + " before answering");
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new RuntimeException("No answer within " + timeout.toSeconds() + " s");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            double firstRequestSeconds = (System.nanoTime() - startedAt) / 1e9;
+            
+            // The log line comes out around the same time as the port opens
+            Double reportedSeconds = null;
+            try {
+                reportedSeconds = reported.get(2, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                // Not logged, e.g. with logging turned down
+            }
+            return new Launch(firstRequestSeconds, reportedSeconds);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+    
+    private static Map<String, Object> summary(List<Double> values) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return summary;
+        }
+        summary.put("min", min(values));
+        summary.put("median", median(values));
+        summary.put("max", max(values));
+        summary.put("values", values);
+        return summary;
+    }
+    
+    private static double min(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+    }
+    
+    private static double max(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+    }
+    
+    private static double median(List<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+    
+    private static class Launch {
+        
+        private final double firstRequestSeconds;
+        private final Double reportedSeconds;
+        
+        Launch(double firstRequestSeconds, Double reportedSeconds) {
+            this.firstRequestSeconds = firstRequestSeconds;
+            this.reportedSeconds = reportedSeconds;
+        }
+    }
+}
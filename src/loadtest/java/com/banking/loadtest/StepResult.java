@@ -0,0 +1,86 @@
+package com.banking.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Outcome of running one arrival rate
+public class StepResult {
+    
+    private final double targetRate;
+    private final int measuredSeconds;
+    private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+    private final List<TimelinePoint> timeline = new ArrayList<>();
+    private long maxInFlight;
+    private long maxSendLagMicros;
+    
+    StepResult(double targetRate, int measuredSeconds) {
+        this.targetRate = targetRate;
+        this.measuredSeconds = measuredSeconds;
+    }
+    
+    public long getCount() {
+        return operations.values().stream().mapToLong(OperationStats::getCount).sum();
+    }
+    
+    public long getErrors() {
+        return operations.values().stream().mapToLong(OperationStats::getErrors).sum();
+    }
+    
+    public double getAchievedRate() {
+        return (double) getCount() / measuredSeconds;
+    }
+    
+    // Getters and Setters
+    public double getTargetRate() { return targetRate; }
+    
+    public int getMeasuredSeconds() { return measuredSeconds; }
+    
+    public Map<Operation, OperationStats> getOperations() { return operations; }
+    
+    public List<TimelinePoint> getTimeline() { return timeline; }
+    
+    public long getMaxInFlight() { return maxInFlight; }
+    void setMaxInFlight(long maxInFlight) { this.maxInFlight = maxInFlight; }
+    
+    public long getMaxSendLagMicros() { return maxSendLagMicros; }
+    void setMaxSendLagMicros(long maxSendLagMicros) { this.maxSendLagMicros = maxSendLagMicros; }
+    
+    // Completions in one second of the step, warm-up included
+    public static class TimelinePoint {
+        
+        private final int second;
+        private final boolean warmup;
+        private final long completed;
+        private final long errors;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+        
+        TimelinePoint(int second, boolean warmup, long completed, long errors,
+                      double p50Millis, double p99Millis, double maxMillis) {
+            this.second = second;
+            this.warmup = warmup;
+            this.completed = completed;
+            this.errors = errors;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.maxMillis = maxMillis;
+        }
+        
+        public int getSecond() { return second; }
+        
+        public boolean isWarmup() { return warmup; }
+        
+        public long getCompleted() { return completed; }
+        
+        public long getErrors() { return errors; }
+        
+        public double getP50Millis() { return p50Millis; }
+        
+        public double getP99Millis() { return p99Millis; }
+        
+        public double getMaxMillis() { return maxMillis; }
+    }
+}
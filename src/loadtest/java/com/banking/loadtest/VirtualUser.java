@@ -0,0 +1,25 @@
+package com.banking.loadtest;
+
+// A signed-in user with its two funded accounts
+public class VirtualUser {
+    
+    private final String username;
+    private final String authorization;
+    private final String checkingAccountNumber;
+    private final String savingsAccountNumber;
+    
+    public VirtualUser(String username, String token, String checkingAccountNumber, String savingsAccountNumber) {
+        this.username = username;
+        this.authorization = "Bearer " + token;
+        this.checkingAccountNumber = checkingAccountNumber;
+        this.savingsAccountNumber = savingsAccountNumber;
+    }
+    
+    public String getUsername() { return username; }
+    
+    public String getAuthorization() { return authorization; }
+    
+    public String getCheckingAccountNumber() { return checkingAccountNumber; }
+    
+    public String getSavingsAccountNumber() { return savingsAccountNumber; }
+}
@@ -0,0 +1,464 @@
+package com.banking.config;
+
+import com.banking.entity.TransactionType;
+import com.banking.repository.UserRepository;
+import com.banking.service.BatchProgress;
+import com.banking.service.SpendingAnalyticsService;
+import com.banking.service.TransactionStatsService;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Synthetic dataset at production scale, for load and batch job testing: run with
+// --spring.profiles.active=datagen. Rows go straight to the tables in JDBC batches from
+// parallel workers, one transaction per chunk, bypassing the services: one shared password
+// hash, no audit entries and no posting events, so the spending rollups and admin stats are
+// backfilled afterwards. Every account ends with a balance equal to its completed postings,
+// so reconciliation finds nothing to report.
+@Component
+@Profile("datagen")
+public class DataGenerator implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DataGenerator.class);
+    
+    private static final String JOB_NAME = "DATA_GENERATION";
+    
+    static final String USERNAME_PREFIX = "datagen";
+    static final String PASSWORD = "datagen123";
+    
+    // Generated account numbers start with ACC1; the services' random ones always start with ACC0
+    private static final String ACCOUNT_PREFIX = "ACC1";
+    
+    // Reference numbers of generated postings, which the stats backfill picks up by
+    private static final String REFERENCE_PREFIX = "GEN";
+    
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, password, email, first_name, last_name, phone_number, role, enabled, " +
+            "created_at) VALUES (?, ?, ?, ?, ?, ?, 'USER', TRUE, ?)";
+    
+    private static final String INSERT_ACCOUNT =
+            "INSERT INTO accounts (account_number, account_type, balance, user_id, created_at, active, version) " +
+            "VALUES (?, ?, 0, ?, ?, TRUE, 0)";
+    
+    private static final String INSERT_TRANSACTION =
+            "INSERT INTO transactions (transaction_type, from_account_id, to_account_id, amount, status, " +
+            "description, reference_number, transaction_date, processed_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    private static final String SET_BALANCE = "UPDATE accounts SET balance = ? WHERE id = ?";
+    
+    // Share of postings by kind; payments go to merchant accounts
+    private static final double PAYMENT_SHARE = 0.45;
+    private static final double TRANSFER_SHARE = 0.25;
+    private static final double DEPOSIT_SHARE = 0.15;
+    
+    private static final double FAILED_SHARE = 0.01;
+    
+    private static final long MAX_AMOUNT_CENTS = 500_000;
+    
+    // Relative activity per hour of the day: quiet nights, lunchtime and early evening peaks
+    private static final double[] HOUR_WEIGHTS = {
+            1, 0.5, 0.3, 0.3, 0.3, 0.5, 1, 2, 4, 5, 5, 6, 8, 7, 5, 5, 5, 6, 7, 7, 6, 4, 3, 2};
+    
+    private static final double HOUR_WEIGHTS_TOTAL = Arrays.stream(HOUR_WEIGHTS).sum();
+    
+    private static final String[] FIRST_NAMES = {
+            "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+            "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Priya", "Wei",
+            "Carlos", "Fatima", "Yuki", "Olga", "Ahmed", "Ana", "Luca", "Amara", "Noah", "Mia"};
+    
+    private static final String[] LAST_NAMES = {
+            "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+            "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin",
+            "Lee", "Patel", "Nguyen", "Kim", "Chen", "Singh", "Kowalski", "Rossi", "Okafor", "Tanaka"};
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private SpendingAnalyticsService spendingAnalyticsService;
+    
+    @Autowired
+    private TransactionStatsService transactionStatsService;
+    
+    @Value("${datagen.users:100000}")
+    private int users;
+    
+    @Value("${datagen.merchants:200}")
+    private int merchants;
+    
+    @Value("${datagen.transactions:1000000}")
+    private long transactions;
+    
+    @Value("${datagen.history-years:3}")
+    private int historyYears;
+    
+    @Value("${datagen.zipf-exponent:0.9}")
+    private double zipfExponent;
+    
+    @Value("${datagen.threads:4}")
+    private int threads;
+    
+    @Value("${datagen.batch-size:5000}")
+    private int batchSize;
+    
+    @Value("${datagen.seed:42}")
+    private long seed;
+    
+    @Value("${datagen.backfill-rollups:true}")
+    private boolean backfillRollups;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    @Override
+    public void run(String... args) throws Exception {
+        if (userRepository.existsByUsername(USERNAME_PREFIX + 0)) {
+            logger.info("Generated data already present, skipping data generation");
+            return;
+        }
+        if (merchants < 1 || users < merchants + 2) {
+            throw new RuntimeException("datagen.users must exceed datagen.merchants by at least 2, and there must be a merchant");
+        }
+        
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime historyStart = now.minusYears(historyYears);
+        logger.info("Generating {} users ({} merchants) and {} transactions over {} years with {} threads",
+                    users, merchants, transactions, historyYears, threads);
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            // Hashed once: BCrypt per user would take longer than everything else together
+            String passwordHash = passwordEncoder.encode(PASSWORD);
+            inChunks(pool, "users", users, (chunk, start, end) -> insertUsers(chunk, start, end, passwordHash, historyStart));
+            long[] userIds = loadIds("SELECT id, username FROM users WHERE username LIKE ?",
+                                     USERNAME_PREFIX + "%", USERNAME_PREFIX.length(), users);
+            
+            // Checking account of user i is account 2i, savings (when it has one) 2i + 1
+            inChunks(pool, "accounts", users, (chunk, start, end) -> insertAccounts(chunk, start, end, userIds, historyStart));
+            long[] accountIdsByNumber = loadIds("SELECT id, account_number FROM accounts WHERE account_number LIKE ?",
+                                                ACCOUNT_PREFIX + "%", ACCOUNT_PREFIX.length(), 2L * users);
+            
+            // Merchants' checking accounts first, so positions below the merchant count are merchants
+            long[] accountIds = Arrays.stream(accountIdsByNumber).filter(id -> id != 0).toArray();
+            Population population = new Population(accountIds, merchants, zipfExponent, new Random(seed));
+            
+            inChunks(pool, "transactions", transactions,
+                     (chunk, start, end) -> insertTransactions(chunk, start, end, population, historyStart, now));
+            inChunks(pool, "opening balances", accountIds.length,
+                     (chunk, start, end) -> insertOpeningBalances(chunk, start, end, population, historyStart));
+        } finally {
+            pool.shutdown();
+        }
+        
+        if (backfillRollups) {
+            spendingAnalyticsService.backfill();
+        }
+        transactionStatsService.backfill(REFERENCE_PREFIX);
+        logger.info("Data generation finished in {}s; generated users sign in as {}<n> with password {}",
+                    Math.round((System.nanoTime() - started) / 1e9), USERNAME_PREFIX, PASSWORD);
+    }
+    
+    private int insertUsers(long chunk, long start, long end, String passwordHash, LocalDateTime historyStart) {
+        SplittableRandom random = chunkRandom(0, chunk);
+        List<Object[]> rows = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            boolean merchant = i < merchants;
+            String firstName = merchant ? "Merchant" : FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = merchant ? String.valueOf(i) : LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[] {USERNAME_PREFIX + i, passwordHash, USERNAME_PREFIX + i + "@example.com",
+                                   firstName, lastName, String.format("555%07d", i % 10_000_000),
+                                   Timestamp.valueOf(historyStart.minusDays(1 + random.nextInt(365)))});
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER, rows);
+        return rows.size();
+    }
+    
+    private int insertAccounts(long chunk, long start, long end, long[] userIds, LocalDateTime historyStart) {
+        List<Object[]> rows = new ArrayList<>((int) (end - start) * 2);
+        Timestamp openedAt = Timestamp.valueOf(historyStart.minusHours(1));
+        for (long i = start; i < end; i++) {
+            rows.add(new Object[] {accountNumber(2 * i), "CHECKING", userIds[(int) i], openedAt});
+            // Merchants only take payments; two in three people also save
+            if (i >= merchants && i % 3 != 0) {
+                rows.add(new Object[] {accountNumber(2 * i + 1), "SAVINGS", userIds[(int) i], openedAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ACCOUNT, rows);
+        return rows.size();
+    }
+    
+    private int insertTransactions(long chunk, long start, long end, Population population,
+                                   LocalDateTime historyStart, LocalDateTime now) {
+        SplittableRandom random = chunkRandom(1, chunk);
+        long historySeconds = Duration.between(historyStart, now).getSeconds();
+        List<Object[]> rows = new ArrayList<>((int) (end - start));
+        for (long i = start; i < end; i++) {
+            double kind = random.nextDouble();
+            int from;
+            int to;
+            TransactionType type;
+            long cents;
+            String description;
+            if (kind < PAYMENT_SHARE) {
+                type = TransactionType.PAYMENT;
+                from = population.activePerson(random);
+                to = population.merchant(random);
+                cents = logNormalCents(random, 35, 1.0);
+                description = "Card payment";
+            } else if (kind < PAYMENT_SHARE + TRANSFER_SHARE) {
+                type = TransactionType.TRANSFER;
+                from = population.activePerson(random);
+                do {
+                    to = population.anyPerson(random);
+                } while (to == from);
+                cents = logNormalCents(random, 120, 1.2);
+                description = "Transfer";
+            } else if (kind < PAYMENT_SHARE + TRANSFER_SHARE + DEPOSIT_SHARE) {
+                type = TransactionType.DEPOSIT;
+                from = -1;
+                to = population.activePerson(random);
+                cents = logNormalCents(random, 1500, 0.6);
+                description = "Deposit";
+            } else {
+                type = TransactionType.WITHDRAWAL;
+                from = population.activePerson(random);
+                to = -1;
+                cents = logNormalCents(random, 80, 0.8);
+                description = "ATM withdrawal";
+            }
+            
+            boolean completed = random.nextDouble() >= FAILED_SHARE;
+            if (completed) {
+                population.post(from, to, cents);
+            }
+            Timestamp at = Timestamp.valueOf(postingTime(random, historyStart, historySeconds));
+            rows.add(new Object[] {type.name(), population.id(from), population.id(to), BigDecimal.valueOf(cents, 2),
+                                   completed ? "COMPLETED" : "FAILED", description, REFERENCE_PREFIX + i,
+                                   at, completed ? at : null});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, rows);
+        return rows.size();
+    }
+    
+    // An opening deposit covering everything the account's generated postings take out, plus a
+    // cushion, then the balance those postings leave. Postings are generated out of date order,
+    // so covering the net alone could still take the balance below zero part way through.
+    private int insertOpeningBalances(long chunk, long start, long end, Population population, LocalDateTime historyStart) {
+        SplittableRandom random = chunkRandom(2, chunk);
+        Timestamp openedAt = Timestamp.valueOf(historyStart);
+        List<Object[]> deposits = new ArrayList<>((int) (end - start));
+        List<Object[]> balances = new ArrayList<>((int) (end - start));
+        for (int position = (int) start; position < end; position++) {
+            long net = population.netCents(position);
+            long opening = population.debitCents(position) + logNormalCents(random, 800, 0.8);
+            deposits.add(new Object[] {"DEPOSIT", null, population.id(position), BigDecimal.valueOf(opening, 2),
+                                       "COMPLETED", "Opening deposit", REFERENCE_PREFIX + "OPEN-" + position, openedAt, openedAt});
+            balances.add(new Object[] {BigDecimal.valueOf(opening + net, 2), population.id(position)});
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, deposits);
+        jdbcTemplate.batchUpdate(SET_BALANCE, balances);
+        return balances.size();
+    }
+    
+    // Activity grows over the years (density rises linearly towards now) and follows the day
+    private static LocalDateTime postingTime(SplittableRandom random, LocalDateTime historyStart, long historySeconds) {
+        long days = historySeconds / 86_400;
+        long day = Math.min(days - 1, (long) (days * Math.sqrt(random.nextDouble())));
+        double pick = random.nextDouble() * HOUR_WEIGHTS_TOTAL;
+        int hour = 0;
+        while (hour < 23 && pick >= HOUR_WEIGHTS[hour]) {
+            pick -= HOUR_WEIGHTS[hour];
+            hour++;
+        }
+        return historyStart.plusDays(day).withHour(hour).withMinute(random.nextInt(60))
+                .withSecond(random.nextInt(60)).withNano(0);
+    }
+    
+    // Log-normal around a median, as real payment amounts are: mostly small, with a long tail
+    private static long logNormalCents(SplittableRandom random, double median, double sigma) {
+        double gaussian = Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+        long cents = Math.round(median * Math.exp(sigma * gaussian) * 100);
+        return Math.max(1, Math.min(cents, MAX_AMOUNT_CENTS));
+    }
+    
+    // Each chunk draws from its own seeded stream, so the dataset does not depend on the thread count
+    private SplittableRandom chunkRandom(int step, long chunk) {
+        return new SplittableRandom(seed * 1_000_003L + step * 1_000_000_007L + chunk);
+    }
+    
+    private static String accountNumber(long index) {
+        return ACCOUNT_PREFIX + String.format("%09d", index);
+    }
+    
+    // Reads back the ids of generated rows, indexed by the number in their key column
+    private long[] loadIds(String sql, String pattern, int prefixLength, long size) {
+        long[] ids = new long[(int) size];
+        jdbcTemplate.query(sql, rs -> {
+            ids[Integer.parseInt(rs.getString(2).substring(prefixLength))] = rs.getLong(1);
+        }, pattern);
+        return ids;
+    }
+    
+    // Splits [0, total) into batch-size chunks, each written in its own transaction by the pool
+    private void inChunks(ForkJoinPool pool, String step, long total, ChunkWriter writer) throws InterruptedException {
+        List<Callable<Void>> chunks = new ArrayList<>();
+        BatchProgress progress = new BatchProgress(JOB_NAME, step, (int) ((total + batchSize - 1) / batchSize));
+        long chunk = 0;
+        for (long start = 0; start < total; start += batchSize, chunk++) {
+            long chunkIndex = chunk;
+            long chunkStart = start;
+            long chunkEnd = Math.min(start + batchSize, total);
+            chunks.add(() -> {
+                progress.chunkDone(transactionTemplate.execute(status -> writer.write(chunkIndex, chunkStart, chunkEnd)));
+                if (progress.getChunksDone() % 100 == 0) {
+                    logger.info("Generating {}: {} of {} chunks, {}/s, about {}s to go", step, progress.getChunksDone(),
+                                progress.getTotalChunks(), Math.round(progress.getItemsPerSecond()),
+                                Math.round(progress.getEtaSeconds()));
+                }
+                return null;
+            });
+        }
+        
+        for (Future<Void> result : pool.invokeAll(chunks)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                throw new RuntimeException("Data generation failed while writing " + step + ": " + e.getCause().getMessage());
+            }
+        }
+        progress.finish();
+        logger.info("Generated {} {} in {}s ({}/s)", progress.getItemsProcessed(), step,
+                    Math.round(progress.getElapsedSeconds()), Math.round(progress.getItemsPerSecond()));
+    }
+    
+    @FunctionalInterface
+    private interface ChunkWriter {
+        int write(long chunk, long start, long end);
+    }
+    
+    // The generated accounts by position, with merchants first. Who is active follows a Zipf
+    // law over a shuffled ranking, so a few accounts post a lot and most post rarely; payments
+    // go to merchants by the same law, making a handful of them hot.
+    private static class Population {
+        
+        private final long[] accountIds;
+        private final int merchants;
+        private final Zipf personActivity;
+        private final Zipf merchantPopularity;
+        private final AtomicLongArray netCents;
+        private final AtomicLongArray debitCents;
+        
+        Population(long[] accountIds, int merchants, double exponent, Random random) {
+            this.accountIds = accountIds;
+            this.merchants = merchants;
+            this.personActivity = new Zipf(accountIds.length - merchants, exponent, random);
+            this.merchantPopularity = new Zipf(merchants, exponent, random);
+            this.netCents = new AtomicLongArray(accountIds.length);
+            this.debitCents = new AtomicLongArray(accountIds.length);
+        }
+        
+        int activePerson(SplittableRandom random) {
+            return merchants + personActivity.sample(random);
+        }
+        
+        int anyPerson(SplittableRandom random) {
+            return merchants + random.nextInt(accountIds.length - merchants);
+        }
+        
+        int merchant(SplittableRandom random) {
+            return merchantPopularity.sample(random);
+        }
+        
+        // Position -1 is no account (the outside world of deposits and withdrawals)
+        Long id(int position) {
+            return position >= 0 ? accountIds[position] : null;
+        }
+        
+        void post(int from, int to, long cents) {
+            if (from >= 0) {
+                netCents.addAndGet(from, -cents);
+                debitCents.addAndGet(from, cents);
+            }
+            if (to >= 0) {
+                netCents.addAndGet(to, cents);
+            }
+        }
+        
+        long netCents(int position) {
+            return netCents.get(position);
+        }
+        
+        long debitCents(int position) {
+            return debitCents.get(position);
+        }
+    }
+    
+    // Samples 0..n-1 with probability proportional to 1 / rank^exponent, ranks shuffled
+    private static class Zipf {
+        
+        private final double[] cumulative;
+        private final int[] items;
+        
+        Zipf(int n, double exponent, Random random) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            items = new int[n];
+            for (int i = 0; i < n; i++) {
+                items[i] = i;
+            }
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int swap = items[i];
+                items[i] = items[j];
+                items[j] = swap;
+            }
+        }
+        
+        int sample(SplittableRandom random) {
+            int rank = Arrays.binarySearch(cumulative, random.nextDouble() * cumulative[cumulative.length - 1]);
+            return items[Math.min(rank >= 0 ? rank : -rank - 1, items.length - 1)];
+        }
+    }
+}
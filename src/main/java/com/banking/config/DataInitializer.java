@@ -3,6 +3,7 @@ package com.banking.config;
 import java.math.BigDecimal;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -25,8 +26,15 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    // A property rather than a condition on the bean, as AOT processing fixes conditions at build time
+    @Value("${demo-data.enabled:false}")
+    private boolean enabled;
+    
     @Override
     public void run(String... args) throws Exception {
+        if (!enabled) {
+            return;
+        }
         try {
             System.out.println("Starting data initialization...");
 
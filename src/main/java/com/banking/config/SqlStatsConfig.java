@@ -0,0 +1,46 @@
+package com.banking.config;
+
+import javax.sql.DataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.banking.monitoring.SqlStatsDataSource;
+import com.banking.monitoring.SqlStatsFilter;
+
+@Configuration
+@ConditionalOnProperty(name = "sql-stats.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsConfig {
+    
+    @Bean
+    public static BeanPostProcessor sqlStatsDataSourceWrapper() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof SqlStatsDataSource)) {
+                    return new SqlStatsDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<SqlStatsFilter> sqlStatsFilter(MeterRegistry meterRegistry,
+                                                                 @Value("${sql-stats.response-headers:false}") boolean responseHeaders,
+                                                                 @Value("${sql-stats.default-budget:25}") int defaultBudget,
+                                                                 @Value("${sql-stats.fail-on-budget:false}") boolean failOnBudget) {
+        FilterRegistrationBean<SqlStatsFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatsFilter(meterRegistry, responseHeaders, defaultBudget, failOnBudget));
+        // Just outside the security chain, so token and user status lookups count against the request
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
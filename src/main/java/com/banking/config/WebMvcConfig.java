@@ -0,0 +1,21 @@
+package com.banking.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.banking.monitoring.EndpointLatencyInterceptor;
+import com.banking.monitoring.EndpointLatencyRecorder;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private EndpointLatencyRecorder endpointLatencyRecorder;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointLatencyInterceptor(endpointLatencyRecorder));
+    }
+}
@@ -2,7 +2,10 @@ package com.banking.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +25,8 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.banking.security.AuthEntryPointJwt;
 import com.banking.security.AuthTokenFilter;
+import com.banking.security.BoundedPasswordEncoder;
+import com.banking.security.RequestRateLimitFilter;
 import com.banking.service.UserDetailsServiceImpl;
 
 @Configuration
@@ -35,16 +40,41 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
     
+    @Value("${auth.bcrypt.strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${auth.bcrypt.threads:0}")
+    private int bcryptThreads;
+    
+    @Value("${auth.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+    
+    @Value("${auth.bcrypt.timeout-ms:5000}")
+    private long bcryptTimeoutMs;
+    
+    @Value("${server.port:8080}")
+    private int serverPort;
+    
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+    
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
         return new AuthTokenFilter();
     }
     
+    @Bean
+    public RequestRateLimitFilter requestRateLimitFilter() {
+        return new RequestRateLimitFilter();
+    }
+    
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes stored passwords on successful sign-in when auth.bcrypt.strength is raised
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         
         return authProvider;
     }
@@ -56,7 +86,9 @@ public class WebSecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int threads = bcryptThreads > 0 ? bcryptThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), threads,
+                                          bcryptQueueCapacity, bcryptTimeoutMs);
     }
     
     @Bean
@@ -66,24 +98,34 @@ public class WebSecurityConfig {
             .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth ->
-                auth.requestMatchers("/auth/**").permitAll()
-                    .requestMatchers("/health", "/actuator/health", "/").permitAll()
+                // Async dispatches only resume streaming responses that were already authorized
+                auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                    .requestMatchers("/auth/**").permitAll()
+                    .requestMatchers("/health", "/").permitAll()
+                    // Actuator listens on its own port, which is only reachable from inside the network
+                    .requestMatchers(request -> isManagementPort(request.getLocalPort())).permitAll()
                     .requestMatchers("/admin/**").hasRole("ADMIN")
                     .anyRequest().authenticated()
             );
         
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(requestRateLimitFilter(), AuthTokenFilter.class);
         
         return http.build();
     }
     
+    private boolean isManagementPort(int port) {
+        return managementPort > 0 && managementPort != serverPort && port == managementPort;
+    }
+    
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("ETag", "Retry-After", "X-SQL-Statements", "X-SQL-Rows", "X-SQL-Time-Ms"));
         configuration.setAllowCredentials(true);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -3,9 +3,12 @@ package com.banking.controller;
 import com.banking.dto.AccountResponse;
 import com.banking.entity.Account;
 import com.banking.entity.AccountType;
-import com.banking.entity.User;
+import com.banking.monitoring.SqlBudget;
+import com.banking.security.UserPrincipal;
 import com.banking.service.AccountService;
+import com.banking.service.BalanceCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -27,7 +30,7 @@ public class AccountController {
     public ResponseEntity<?> createAccount(@RequestParam AccountType accountType,
                                          Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             Account account = accountService.createAccount(user.getId(), accountType);
             return ResponseEntity.ok().body("Account created successfully with number: " + account.getAccountNumber());
         } catch (Exception e) {
@@ -37,8 +40,9 @@ public class AccountController {
     
     @GetMapping("/my-accounts")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @SqlBudget(statements = 3)
     public ResponseEntity<List<AccountResponse>> getMyAccounts(Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         List<AccountResponse> accounts = accountService.getUserAccounts(user.getId());
         return ResponseEntity.ok(accounts);
     }
@@ -48,9 +52,13 @@ public class AccountController {
     public ResponseEntity<?> getAccountBalance(@PathVariable String accountNumber,
                                              Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
-            AccountResponse account = accountService.getAccountBalance(accountNumber, user.getUsername());
-            return ResponseEntity.ok(account);
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            AccountResponse account = accountService.getAccountBalance(accountNumber, user.getId(), user.getUsername());
+            // Spring answers a matching If-None-Match with 304 and skips the body
+            return ResponseEntity.ok()
+                    .eTag(BalanceCache.eTagOf(account))
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .body(account);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -62,7 +70,7 @@ public class AccountController {
                                         @RequestParam BigDecimal amount,
                                         Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             Account account = accountService.depositFunds(accountNumber, amount, user.getUsername());
             return ResponseEntity.ok().body("Deposit successful. New balance: $" + account.getBalance());
         } catch (Exception e) {
@@ -76,7 +84,7 @@ public class AccountController {
                                          @RequestParam BigDecimal amount,
                                          Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             Account account = accountService.withdrawFunds(accountNumber, amount, user.getUsername());
             return ResponseEntity.ok().body("Withdrawal successful. New balance: $" + account.getBalance());
         } catch (Exception e) {
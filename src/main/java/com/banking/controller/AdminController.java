@@ -1,8 +1,11 @@
 package com.banking.controller;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -12,16 +15,34 @@ import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.banking.dto.EndpointLatency;
+import com.banking.dto.JobRun;
+import com.banking.dto.ReconciliationReport;
+import com.banking.dto.StatsResponse;
+import com.banking.dto.UserDTO;
+import com.banking.dto.UserPageResponse;
 import com.banking.entity.AuditLog;
 import com.banking.entity.User;
+import com.banking.monitoring.EndpointLatencyRecorder;
+import com.banking.service.AdminJobRunner;
 import com.banking.service.AuditService;
+import com.banking.service.BatchProgress;
+import com.banking.service.InterestAccrualService;
+import com.banking.service.ReconciliationService;
+import com.banking.service.SpendingAnalyticsService;
+import com.banking.service.StatementBatchService;
+import com.banking.service.TransactionStatsService;
+import com.banking.service.UserSearchIndex;
 import com.banking.service.UserService;
 
+// Created on the first admin request rather than at startup
+@Lazy
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
 @RequestMapping("/admin")
@@ -34,10 +55,48 @@ public class AdminController {
     @Autowired
     private AuditService auditService;
     
+    @Autowired
+    private StatementBatchService statementBatchService;
+    
+    @Autowired
+    private TransactionStatsService transactionStatsService;
+    
+    @Autowired
+    private SpendingAnalyticsService spendingAnalyticsService;
+    
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+    
+    @Autowired
+    private ReconciliationService reconciliationService;
+    
+    @Autowired
+    private EndpointLatencyRecorder endpointLatencyRecorder;
+    
+    @Autowired
+    private AdminJobRunner adminJobRunner;
+    
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<UserPageResponse> getUsers(@RequestParam(defaultValue = "0") Long afterId,
+                                                     @RequestParam(defaultValue = "50") int size) {
+        UserPageResponse page = userService.getUserPage(afterId, Math.min(Math.max(size, 1), 200));
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/users/search")
+    public ResponseEntity<?> searchUsers(@RequestParam String q,
+                                         @RequestParam(required = false) String field,
+                                         @RequestParam(defaultValue = "20") int limit) {
+        try {
+            if (q.isBlank()) {
+                return ResponseEntity.badRequest().body("Error: Search query is empty");
+            }
+            UserSearchIndex.Field searchField = field != null ? UserSearchIndex.Field.fromParameter(field) : null;
+            List<UserDTO> users = userService.searchUsers(q, searchField, Math.min(Math.max(limit, 1), 100));
+            return ResponseEntity.ok(users);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
     }
     
     @PutMapping("/users/{userId}/promote")
@@ -85,4 +144,89 @@ public class AdminController {
         Page<AuditLog> auditLogs = auditService.getAuditLogsByAction(action, pageable);
         return ResponseEntity.ok(auditLogs);
     }
+    
+    @GetMapping("/stats")
+    public ResponseEntity<StatsResponse> getStats() {
+        return ResponseEntity.ok(transactionStatsService.getStats());
+    }
+    
+    @GetMapping("/latency")
+    public ResponseEntity<?> getLatency(@RequestParam(defaultValue = "5") int window) {
+        int maxWindow = endpointLatencyRecorder.getMaxWindowMinutes();
+        if (window < 0 || window > maxWindow) {
+            return ResponseEntity.badRequest().body("Error: window must be 0 (since startup) to " + maxWindow + " minutes");
+        }
+        List<EndpointLatency> latency = endpointLatencyRecorder.getLatency(window);
+        return ResponseEntity.ok(latency);
+    }
+    
+    @PostMapping("/statements/{month}/generate")
+    public ResponseEntity<?> generateStatements(@PathVariable String month) {
+        try {
+            YearMonth statementMonth = YearMonth.parse(month);
+            if (statementBatchService.isRunning()) {
+                return ResponseEntity.badRequest().body("Error: Statement generation is already running");
+            }
+            adminJobRunner.submit("statements", () -> statementBatchService.generateMonth(statementMonth));
+            return ResponseEntity.accepted().body("Statement generation started for " + statementMonth);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    @PostMapping("/analytics/backfill")
+    public ResponseEntity<?> backfillAnalytics() {
+        if (spendingAnalyticsService.isBackfillRunning()) {
+            return ResponseEntity.badRequest().body("Error: Analytics backfill is already running");
+        }
+        adminJobRunner.submit("analytics-backfill", () -> spendingAnalyticsService.backfill());
+        return ResponseEntity.accepted().body("Analytics backfill started");
+    }
+    
+    @PostMapping("/interest/{date}/accrue")
+    public ResponseEntity<?> accrueInterest(@PathVariable String date) {
+        try {
+            LocalDate day = LocalDate.parse(date);
+            if (interestAccrualService.isRunning()) {
+                return ResponseEntity.badRequest().body("Error: Interest accrual is already running");
+            }
+            adminJobRunner.submit("interest", () -> interestAccrualService.accrue(day));
+            return ResponseEntity.accepted().body("Interest accrual started for " + day);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+    
+    // Latest run of each job started here, including why it failed
+    @GetMapping("/jobs")
+    public ResponseEntity<List<JobRun>> getJobs() {
+        return ResponseEntity.ok(adminJobRunner.getLatestRuns());
+    }
+    
+    @GetMapping("/interest/progress")
+    public ResponseEntity<?> getInterestProgress() {
+        BatchProgress progress = interestAccrualService.getProgress();
+        if (progress == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(progress);
+    }
+    
+    @PostMapping("/reconciliation/run")
+    public ResponseEntity<?> runReconciliation() {
+        if (reconciliationService.isRunning()) {
+            return ResponseEntity.badRequest().body("Error: Reconciliation is already running");
+        }
+        adminJobRunner.submit("reconciliation", () -> reconciliationService.reconcile());
+        return ResponseEntity.accepted().body("Reconciliation started");
+    }
+    
+    @GetMapping("/reconciliation/latest")
+    public ResponseEntity<?> getLatestReconciliation() {
+        ReconciliationReport report = reconciliationService.getLatestReport();
+        if (report == null) {
+            return ResponseEntity.noContent().build();
+        }
+        return ResponseEntity.ok(report);
+    }
 }
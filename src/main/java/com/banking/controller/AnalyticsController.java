@@ -0,0 +1,32 @@
+package com.banking.controller;
+
+import com.banking.dto.SpendingAnalyticsResponse;
+import com.banking.security.UserPrincipal;
+import com.banking.service.SpendingAnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+    
+    @Autowired
+    private SpendingAnalyticsService spendingAnalyticsService;
+    
+    @GetMapping("/spending")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> getSpending(@RequestParam(defaultValue = "12") int months,
+                                         @RequestParam(defaultValue = "5") int top,
+                                         Authentication authentication) {
+        if (months < 1 || months > 60 || top < 1 || top > 50) {
+            return ResponseEntity.badRequest().body("Error: months must be 1-60 and top 1-50");
+        }
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        SpendingAnalyticsResponse spending = spendingAnalyticsService.getSpending(user.getId(), months, top);
+        return ResponseEntity.ok(spending);
+    }
+}
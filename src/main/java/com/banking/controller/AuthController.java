@@ -4,11 +4,15 @@ import com.banking.dto.JwtResponse;
 import com.banking.dto.LoginRequest;
 import com.banking.dto.RegisterRequest;
 import com.banking.entity.User;
+import com.banking.exception.ServiceBusyException;
 import com.banking.security.JwtUtils;
+import com.banking.security.LoginThrottle;
 import com.banking.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -33,12 +37,29 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    LoginThrottle loginThrottle;
+    
     @PostMapping("/signin")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
                                             HttpServletRequest request) {
         
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        long retryAfterSeconds = loginThrottle.tryAcquire(loginRequest.getUsername(), request.getRemoteAddr());
+        if (retryAfterSeconds > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body("Error: Too many sign-in attempts. Please try again later.");
+        }
+        
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (ServiceBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Error: Too many sign-in requests in progress. Please try again shortly.");
+        }
         
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -60,6 +81,11 @@ public class AuthController {
         try {
             User user = userService.createUser(signUpRequest);
             return ResponseEntity.ok().body("User registered successfully!");
+        } catch (ServiceBusyException e) {
+            // Sign-up hashes the new password on the same bounded pool as sign-in
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body("Error: Too many sign-up requests in progress. Please try again shortly.");
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body("Error: " + e.getMessage());
         }
@@ -0,0 +1,37 @@
+package com.banking.controller;
+
+import com.banking.dto.DashboardResponse;
+import com.banking.monitoring.SqlBudget;
+import com.banking.security.UserPrincipal;
+import com.banking.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardService dashboardService;
+    
+    @GetMapping
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @SqlBudget(statements = 7)
+    public ResponseEntity<?> getDashboard(@RequestParam(defaultValue = "5") int recent,
+                                          Authentication authentication) {
+        if (recent < 1 || recent > 50) {
+            return ResponseEntity.badRequest().body("Error: recent must be 1-50");
+        }
+        try {
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            DashboardResponse dashboard = dashboardService.getDashboard(user.getId(), recent);
+            return ResponseEntity.ok(dashboard);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.banking.controller;
+
+import com.banking.dto.StreamTicketResponse;
+import com.banking.security.StreamTicketService;
+import com.banking.security.UserPrincipal;
+import com.banking.service.PostingBroadcaster;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/events")
+public class EventStreamController {
+    
+    @Autowired
+    private PostingBroadcaster postingBroadcaster;
+    
+    @Autowired
+    private StreamTicketService streamTicketService;
+    
+    // Trades the caller's bearer token for a short-lived ticket that opens one stream
+    @PostMapping("/ticket")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<?> ticket(Authentication authentication) {
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+        String ticket = streamTicketService.issue(user);
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-store")
+                .body(new StreamTicketResponse(ticket, streamTicketService.getTicketTtlMs()));
+    }
+    
+    // Pushes a "posting" event whenever money moves on one of the user's accounts
+    @GetMapping("/stream")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<SseEmitter> stream(Authentication authentication) {
+        try {
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            SseEmitter emitter = postingBroadcaster.subscribe(user.getId());
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+    }
+}
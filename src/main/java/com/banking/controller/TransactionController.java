@@ -2,11 +2,15 @@ package com.banking.controller;
 
 import com.banking.dto.TransactionResponse;
 import com.banking.dto.TransferRequest;
-import com.banking.entity.User;
+import com.banking.monitoring.SqlBudget;
+import com.banking.security.UserPrincipal;
 import com.banking.service.PdfService;
+import com.banking.service.StatementCache;
+import com.banking.service.TransactionExportService;
 import com.banking.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -17,8 +21,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Optional;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -28,15 +38,23 @@ public class TransactionController {
     @Autowired
     private TransactionService transactionService;
     
+    // A proxy until the first statement request, so iText is not loaded at startup
     @Autowired
+    @Lazy
     private PdfService pdfService;
     
+    @Autowired
+    private StatementCache statementCache;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
     @PostMapping("/transfer")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<?> transferFunds(@Valid @RequestBody TransferRequest transferRequest,
                                          Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             TransactionResponse transaction = transactionService.transferFunds(transferRequest, user.getUsername());
             return ResponseEntity.ok(transaction);
         } catch (Exception e) {
@@ -46,12 +64,13 @@ public class TransactionController {
     
     @GetMapping("/account/{accountNumber}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @SqlBudget(statements = 8)
     public ResponseEntity<?> getAccountTransactions(@PathVariable String accountNumber,
                                                    @RequestParam(defaultValue = "0") int page,
                                                    @RequestParam(defaultValue = "10") int size,
                                                    Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             Pageable pageable = PageRequest.of(page, size);
             Page<TransactionResponse> transactions = transactionService.getAccountTransactions(
                     accountNumber, user.getUsername(), pageable);
@@ -63,10 +82,11 @@ public class TransactionController {
     
     @GetMapping("/my-transactions")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @SqlBudget(statements = 5)
     public ResponseEntity<Page<TransactionResponse>> getMyTransactions(@RequestParam(defaultValue = "0") int page,
                                                                       @RequestParam(defaultValue = "10") int size,
                                                                       Authentication authentication) {
-        User user = (User) authentication.getPrincipal();
+        UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
         Pageable pageable = PageRequest.of(page, size);
         Page<TransactionResponse> transactions = transactionService.getUserTransactions(user.getId(), pageable);
         return ResponseEntity.ok(transactions);
@@ -74,24 +94,94 @@ public class TransactionController {
     
     @GetMapping("/account/{accountNumber}/statement")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<byte[]> generateAccountStatement(@PathVariable String accountNumber,
-                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
-                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-                                                          Authentication authentication) {
+    @SqlBudget(statements = 6)
+    public ResponseEntity<StreamingResponseBody> generateAccountStatement(@PathVariable String accountNumber,
+                                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+                                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+                                                                          Authentication authentication) {
         try {
-            User user = (User) authentication.getPrincipal();
-            byte[] pdfBytes = pdfService.generateAccountStatement(accountNumber, user.getUsername(), startDate, endDate);
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            pdfService.verifyStatementAccess(accountNumber, user.getUsername());
             
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", "statement_" + accountNumber + ".pdf");
-            headers.setContentLength(pdfBytes.length);
+            
+            // A whole past month is the monthly statement: sent straight from disk when the batch
+            // has pre-rendered it, otherwise rendered the same way
+            Optional<YearMonth> month = StatementCache.closedMonthOf(startDate, endDate);
+            if (month.isPresent()) {
+                Optional<Path> cached = statementCache.find(accountNumber, month.get());
+                if (cached.isPresent()) {
+                    Path statement = cached.get();
+                    return ResponseEntity.ok()
+                            .headers(headers)
+                            .contentLength(Files.size(statement))
+                            .body(outputStream -> statementCache.transferTo(statement, outputStream));
+                }
+                return ResponseEntity.ok()
+                        .headers(headers)
+                        .body(outputStream -> pdfService.writeMonthlyStatement(accountNumber, month.get(), outputStream));
+            }
+            
+            // Rendered straight into the response as rows are read, never buffered as a whole
+            StreamingResponseBody body = outputStream ->
+                    pdfService.writeAccountStatement(accountNumber, startDate, endDate, outputStream);
             
             return ResponseEntity.ok()
                     .headers(headers)
-                    .body(pdfBytes);
+                    .body(body);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(("Error: " + e.getMessage()).getBytes());
+            return streamedError(e);
         }
     }
+    
+    @GetMapping("/account/{accountNumber}/export")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    @SqlBudget(statements = 6)
+    public ResponseEntity<StreamingResponseBody> exportAccountTransactions(@PathVariable String accountNumber,
+                                                                           @RequestParam(defaultValue = "csv") String format,
+                                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+                                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+                                                                           @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                                           Authentication authentication) {
+        try {
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            TransactionExportService.Format exportFormat = TransactionExportService.Format.fromParameter(format);
+            transactionExportService.verifyExportAccess(accountNumber, user.getUsername(), exportFormat);
+            
+            // Without a range the whole history is exported
+            LocalDateTime from = startDate != null ? startDate : LocalDateTime.of(1970, 1, 1, 0, 0);
+            LocalDateTime to = endDate != null ? endDate : LocalDateTime.now();
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"));
+            headers.setContentDispositionFormData("attachment",
+                    "transactions_" + accountNumber + "." + exportFormat.getExtension());
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            
+            // No Content-Length, so the rows go out with chunked transfer encoding as they are read
+            StreamingResponseBody body = outputStream ->
+                    transactionExportService.export(accountNumber, from, to, exportFormat, gzip, outputStream);
+            
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+        } catch (Exception e) {
+            return streamedError(e);
+        }
+    }
+    
+    // Streaming endpoints are typed ResponseEntity<StreamingResponseBody> (the streaming
+    // return value handler only matches that type), so their errors are streamed as text too
+    private ResponseEntity<StreamingResponseBody> streamedError(Exception e) {
+        byte[] message = ("Error: " + e.getMessage()).getBytes(StandardCharsets.UTF_8);
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(outputStream -> outputStream.write(message));
+    }
 }
@@ -13,6 +13,7 @@ public class AccountResponse {
     private BigDecimal balance;
     private LocalDateTime createdAt;
     private boolean active;
+    private Long version;
     
     // Constructors
     public AccountResponse() {}
@@ -45,4 +46,7 @@ public class AccountResponse {
     
     public boolean isActive() { return active; }
     public void setActive(boolean active) { this.active = active; }
+    
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
 }
@@ -0,0 +1,36 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class DashboardResponse {
+    
+    private List<AccountResponse> accounts;
+    private BigDecimal totalBalance;
+    private List<TransactionResponse> recentTransactions;
+    private SpendingAnalyticsResponse spending;
+    
+    // Constructors
+    public DashboardResponse() {}
+    
+    public DashboardResponse(List<AccountResponse> accounts, BigDecimal totalBalance,
+                             List<TransactionResponse> recentTransactions, SpendingAnalyticsResponse spending) {
+        this.accounts = accounts;
+        this.totalBalance = totalBalance;
+        this.recentTransactions = recentTransactions;
+        this.spending = spending;
+    }
+    
+    // Getters and Setters
+    public List<AccountResponse> getAccounts() { return accounts; }
+    public void setAccounts(List<AccountResponse> accounts) { this.accounts = accounts; }
+    
+    public BigDecimal getTotalBalance() { return totalBalance; }
+    public void setTotalBalance(BigDecimal totalBalance) { this.totalBalance = totalBalance; }
+    
+    public List<TransactionResponse> getRecentTransactions() { return recentTransactions; }
+    public void setRecentTransactions(List<TransactionResponse> recentTransactions) { this.recentTransactions = recentTransactions; }
+    
+    public SpendingAnalyticsResponse getSpending() { return spending; }
+    public void setSpending(SpendingAnalyticsResponse spending) { this.spending = spending; }
+}
@@ -0,0 +1,59 @@
+package com.banking.dto;
+
+public class EndpointLatency {
+    
+    private String endpoint;
+    // 0 for everything recorded since startup
+    private int windowMinutes;
+    private long count;
+    private double meanMs;
+    private double p50Ms;
+    private double p90Ms;
+    private double p99Ms;
+    private double p999Ms;
+    private double maxMs;
+    
+    // Constructors
+    public EndpointLatency() {}
+    
+    public EndpointLatency(String endpoint, int windowMinutes, long count, double meanMs, double p50Ms,
+                           double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+        this.endpoint = endpoint;
+        this.windowMinutes = windowMinutes;
+        this.count = count;
+        this.meanMs = meanMs;
+        this.p50Ms = p50Ms;
+        this.p90Ms = p90Ms;
+        this.p99Ms = p99Ms;
+        this.p999Ms = p999Ms;
+        this.maxMs = maxMs;
+    }
+    
+    // Getters and Setters
+    public String getEndpoint() { return endpoint; }
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+    
+    public int getWindowMinutes() { return windowMinutes; }
+    public void setWindowMinutes(int windowMinutes) { this.windowMinutes = windowMinutes; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    
+    public double getMeanMs() { return meanMs; }
+    public void setMeanMs(double meanMs) { this.meanMs = meanMs; }
+    
+    public double getP50Ms() { return p50Ms; }
+    public void setP50Ms(double p50Ms) { this.p50Ms = p50Ms; }
+    
+    public double getP90Ms() { return p90Ms; }
+    public void setP90Ms(double p90Ms) { this.p90Ms = p90Ms; }
+    
+    public double getP99Ms() { return p99Ms; }
+    public void setP99Ms(double p99Ms) { this.p99Ms = p99Ms; }
+    
+    public double getP999Ms() { return p999Ms; }
+    public void setP999Ms(double p999Ms) { this.p999Ms = p999Ms; }
+    
+    public double getMaxMs() { return maxMs; }
+    public void setMaxMs(double maxMs) { this.maxMs = maxMs; }
+}
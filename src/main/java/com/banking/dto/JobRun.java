@@ -0,0 +1,39 @@
+package com.banking.dto;
+
+import java.time.LocalDateTime;
+
+public class JobRun {
+    
+    private String job;
+    private String status;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+    
+    // Constructors
+    public JobRun() {}
+    
+    public JobRun(String job, String status, LocalDateTime startedAt, LocalDateTime finishedAt, String error) {
+        this.job = job;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+    
+    // Getters and Setters
+    public String getJob() { return job; }
+    public void setJob(String job) { this.job = job; }
+    
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,35 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+
+public class MonthlySpending {
+    
+    // yyyy-MM
+    private String month;
+    private BigDecimal inflow;
+    private BigDecimal outflow;
+    private long count;
+    
+    // Constructors
+    public MonthlySpending() {}
+    
+    public MonthlySpending(String month, BigDecimal inflow, BigDecimal outflow, long count) {
+        this.month = month;
+        this.inflow = inflow;
+        this.outflow = outflow;
+        this.count = count;
+    }
+    
+    // Getters and Setters
+    public String getMonth() { return month; }
+    public void setMonth(String month) { this.month = month; }
+    
+    public BigDecimal getInflow() { return inflow; }
+    public void setInflow(BigDecimal inflow) { this.inflow = inflow; }
+    
+    public BigDecimal getOutflow() { return outflow; }
+    public void setOutflow(BigDecimal outflow) { this.outflow = outflow; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
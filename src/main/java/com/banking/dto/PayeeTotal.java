@@ -0,0 +1,29 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+
+public class PayeeTotal {
+    
+    private String payee;
+    private BigDecimal amount;
+    private long count;
+    
+    // Constructors
+    public PayeeTotal() {}
+    
+    public PayeeTotal(String payee, BigDecimal amount, Long count) {
+        this.payee = payee;
+        this.amount = amount;
+        this.count = count != null ? count : 0;
+    }
+    
+    // Getters and Setters
+    public String getPayee() { return payee; }
+    public void setPayee(String payee) { this.payee = payee; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+}
@@ -0,0 +1,61 @@
+package com.banking.dto;
+
+import com.banking.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// What one account holder is told about a posting on their account
+public class PostingNotification {
+    
+    private Long transactionId;
+    private TransactionType transactionType;
+    private String accountNumber;
+    private String counterpartyAccountNumber;
+    // IN or OUT, seen from accountNumber
+    private String direction;
+    private BigDecimal amount;
+    private BigDecimal balance;
+    private LocalDateTime transactionDate;
+    
+    // Constructors
+    public PostingNotification() {}
+    
+    public PostingNotification(Long transactionId, TransactionType transactionType, String accountNumber,
+                               String counterpartyAccountNumber, String direction, BigDecimal amount,
+                               BigDecimal balance, LocalDateTime transactionDate) {
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        this.accountNumber = accountNumber;
+        this.counterpartyAccountNumber = counterpartyAccountNumber;
+        this.direction = direction;
+        this.amount = amount;
+        this.balance = balance;
+        this.transactionDate = transactionDate;
+    }
+    
+    // Getters and Setters
+    public Long getTransactionId() { return transactionId; }
+    public void setTransactionId(Long transactionId) { this.transactionId = transactionId; }
+    
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public String getCounterpartyAccountNumber() { return counterpartyAccountNumber; }
+    public void setCounterpartyAccountNumber(String counterpartyAccountNumber) { this.counterpartyAccountNumber = counterpartyAccountNumber; }
+    
+    public String getDirection() { return direction; }
+    public void setDirection(String direction) { this.direction = direction; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+}
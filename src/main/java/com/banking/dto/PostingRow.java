@@ -0,0 +1,36 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One side of a completed posting, as read by bulk jobs
+public class PostingRow {
+    
+    private Long accountId;
+    private String counterparty;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+    
+    // Constructors
+    public PostingRow() {}
+    
+    public PostingRow(Long accountId, String counterparty, BigDecimal amount, LocalDateTime transactionDate) {
+        this.accountId = accountId;
+        this.counterparty = counterparty;
+        this.amount = amount;
+        this.transactionDate = transactionDate;
+    }
+    
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public String getCounterparty() { return counterparty; }
+    public void setCounterparty(String counterparty) { this.counterparty = counterparty; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public LocalDateTime getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
+}
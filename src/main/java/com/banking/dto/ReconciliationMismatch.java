@@ -0,0 +1,39 @@
+package com.banking.dto;
+
+import java.math.BigDecimal;
+
+public class ReconciliationMismatch {
+    
+    private Long accountId;
+    private String accountNumber;
+    private BigDecimal balance;
+    private BigDecimal expectedBalance;
+    private BigDecimal difference;
+    
+    // Constructors
+    public ReconciliationMismatch() {}
+    
+    public ReconciliationMismatch(Long accountId, String accountNumber, BigDecimal balance, BigDecimal expectedBalance) {
+        this.accountId = accountId;
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.expectedBalance = expectedBalance;
+        this.difference = balance.subtract(expectedBalance);
+    }
+    
+    // Getters and Setters
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public String getAccountNumber() { return accountNumber; }
+    public void setAccountNumber(String accountNumber) { this.accountNumber = accountNumber; }
+    
+    public BigDecimal getBalance() { return balance; }
+    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    
+    public BigDecimal getExpectedBalance() { return expectedBalance; }
+    public void setExpectedBalance(BigDecimal expectedBalance) { this.expectedBalance = expectedBalance; }
+    
+    public BigDecimal getDifference() { return difference; }
+    public void setDifference(BigDecimal difference) { this.difference = difference; }
+}
@@ -0,0 +1,51 @@
+package com.banking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ReconciliationReport {
+    
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long accountsChecked;
+    private long mismatchCount;
+    private long failedPartitions;
+    // Capped; mismatchCount is the full count
+    private List<ReconciliationMismatch> mismatches;
+    
+    // Constructors
+    public ReconciliationReport() {}
+    
+    public ReconciliationReport(LocalDateTime startedAt, LocalDateTime finishedAt, long accountsChecked,
+                                long mismatchCount, long failedPartitions, List<ReconciliationMismatch> mismatches) {
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.accountsChecked = accountsChecked;
+        this.mismatchCount = mismatchCount;
+        this.failedPartitions = failedPartitions;
+        this.mismatches = mismatches;
+    }
+    
+    public boolean isClean() {
+        return mismatchCount == 0 && failedPartitions == 0;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+    
+    public long getAccountsChecked() { return accountsChecked; }
+    public void setAccountsChecked(long accountsChecked) { this.accountsChecked = accountsChecked; }
+    
+    public long getMismatchCount() { return mismatchCount; }
+    public void setMismatchCount(long mismatchCount) { this.mismatchCount = mismatchCount; }
+    
+    public long getFailedPartitions() { return failedPartitions; }
+    public void setFailedPartitions(long failedPartitions) { this.failedPartitions = failedPartitions; }
+    
+    public List<ReconciliationMismatch> getMismatches() { return mismatches; }
+    public void setMismatches(List<ReconciliationMismatch> mismatches) { this.mismatches = mismatches; }
+}
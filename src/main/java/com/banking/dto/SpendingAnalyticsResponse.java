@@ -0,0 +1,24 @@
+package com.banking.dto;
+
+import java.util.List;
+
+public class SpendingAnalyticsResponse {
+    
+    private List<MonthlySpending> months;
+    private List<PayeeTotal> topPayees;
+    
+    // Constructors
+    public SpendingAnalyticsResponse() {}
+    
+    public SpendingAnalyticsResponse(List<MonthlySpending> months, List<PayeeTotal> topPayees) {
+        this.months = months;
+        this.topPayees = topPayees;
+    }
+    
+    // Getters and Setters
+    public List<MonthlySpending> getMonths() { return months; }
+    public void setMonths(List<MonthlySpending> months) { this.months = months; }
+    
+    public List<PayeeTotal> getTopPayees() { return topPayees; }
+    public void setTopPayees(List<PayeeTotal> topPayees) { this.topPayees = topPayees; }
+}
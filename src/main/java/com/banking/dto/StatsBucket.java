@@ -0,0 +1,37 @@
+package com.banking.dto;
+
+import com.banking.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class StatsBucket {
+    
+    private TransactionType transactionType;
+    private LocalDateTime bucketStart;
+    private long count;
+    private BigDecimal amount;
+    
+    // Constructors
+    public StatsBucket() {}
+    
+    public StatsBucket(TransactionType transactionType, LocalDateTime bucketStart, long count, BigDecimal amount) {
+        this.transactionType = transactionType;
+        this.bucketStart = bucketStart;
+        this.count = count;
+        this.amount = amount;
+    }
+    
+    // Getters and Setters
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+}
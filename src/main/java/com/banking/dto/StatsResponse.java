@@ -0,0 +1,36 @@
+package com.banking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class StatsResponse {
+    
+    private LocalDateTime generatedAt;
+    private long activeAccounts;
+    private List<StatsBucket> today;
+    private List<StatsBucket> hourly;
+    
+    // Constructors
+    public StatsResponse() {}
+    
+    public StatsResponse(LocalDateTime generatedAt, long activeAccounts,
+                         List<StatsBucket> today, List<StatsBucket> hourly) {
+        this.generatedAt = generatedAt;
+        this.activeAccounts = activeAccounts;
+        this.today = today;
+        this.hourly = hourly;
+    }
+    
+    // Getters and Setters
+    public LocalDateTime getGeneratedAt() { return generatedAt; }
+    public void setGeneratedAt(LocalDateTime generatedAt) { this.generatedAt = generatedAt; }
+    
+    public long getActiveAccounts() { return activeAccounts; }
+    public void setActiveAccounts(long activeAccounts) { this.activeAccounts = activeAccounts; }
+    
+    public List<StatsBucket> getToday() { return today; }
+    public void setToday(List<StatsBucket> today) { this.today = today; }
+    
+    public List<StatsBucket> getHourly() { return hourly; }
+    public void setHourly(List<StatsBucket> hourly) { this.hourly = hourly; }
+}
@@ -0,0 +1,22 @@
+package com.banking.dto;
+
+public class StreamTicketResponse {
+    
+    private String ticket;
+    private long expiresInMs;
+    
+    // Constructors
+    public StreamTicketResponse() {}
+    
+    public StreamTicketResponse(String ticket, long expiresInMs) {
+        this.ticket = ticket;
+        this.expiresInMs = expiresInMs;
+    }
+    
+    // Getters and Setters
+    public String getTicket() { return ticket; }
+    public void setTicket(String ticket) { this.ticket = ticket; }
+    
+    public long getExpiresInMs() { return expiresInMs; }
+    public void setExpiresInMs(long expiresInMs) { this.expiresInMs = expiresInMs; }
+}
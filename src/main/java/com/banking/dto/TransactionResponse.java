@@ -22,6 +22,22 @@ public class TransactionResponse {
     // Constructors
     public TransactionResponse() {}
     
+    // Used by JPQL constructor expressions that read rows without loading entities
+    public TransactionResponse(Long id, String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                               TransactionType transactionType, TransactionStatus status, String description,
+                               String referenceNumber, LocalDateTime transactionDate, LocalDateTime processedDate) {
+        this.id = id;
+        this.fromAccountNumber = fromAccountNumber;
+        this.toAccountNumber = toAccountNumber;
+        this.amount = amount;
+        this.transactionType = transactionType;
+        this.status = status;
+        this.description = description;
+        this.referenceNumber = referenceNumber;
+        this.transactionDate = transactionDate;
+        this.processedDate = processedDate;
+    }
+    
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -0,0 +1,30 @@
+package com.banking.dto;
+
+import java.util.List;
+
+public class UserPageResponse {
+    
+    private List<UserDTO> users;
+    // Pass as afterId to get the next page; null on the last page
+    private Long nextCursor;
+    private long totalUsers;
+    
+    // Constructors
+    public UserPageResponse() {}
+    
+    public UserPageResponse(List<UserDTO> users, Long nextCursor, long totalUsers) {
+        this.users = users;
+        this.nextCursor = nextCursor;
+        this.totalUsers = totalUsers;
+    }
+    
+    // Getters and Setters
+    public List<UserDTO> getUsers() { return users; }
+    public void setUsers(List<UserDTO> users) { this.users = users; }
+    
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+    
+    public long getTotalUsers() { return totalUsers; }
+    public void setTotalUsers(long totalUsers) { this.totalUsers = totalUsers; }
+}
@@ -0,0 +1,64 @@
+package com.banking.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "account_daily_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "posting_date"}))
+public class AccountDailyRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    // Named to stay clear of the DAY keyword
+    @Column(name = "posting_date")
+    private LocalDate day;
+    
+    @Column(precision = 19, scale = 2)
+    private BigDecimal inflow = BigDecimal.ZERO;
+    
+    @Column(precision = 19, scale = 2)
+    private BigDecimal outflow = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count")
+    private long transactionCount;
+    
+    // Constructors
+    public AccountDailyRollup() {}
+    
+    public AccountDailyRollup(Long accountId, LocalDate day) {
+        this.accountId = accountId;
+        this.day = day;
+    }
+    
+    public void addPosting(BigDecimal inflowAmount, BigDecimal outflowAmount) {
+        this.inflow = this.inflow.add(inflowAmount);
+        this.outflow = this.outflow.add(outflowAmount);
+        this.transactionCount++;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    
+    public BigDecimal getInflow() { return inflow; }
+    public void setInflow(BigDecimal inflow) { this.inflow = inflow; }
+    
+    public BigDecimal getOutflow() { return outflow; }
+    public void setOutflow(BigDecimal outflow) { this.outflow = outflow; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+}
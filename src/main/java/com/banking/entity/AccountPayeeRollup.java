@@ -0,0 +1,64 @@
+package com.banking.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Outgoing payments per account, day and receiving account
+@Entity
+@Table(name = "account_payee_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"account_id", "posting_date", "payee"}))
+public class AccountPayeeRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "account_id")
+    private Long accountId;
+    
+    @Column(name = "posting_date")
+    private LocalDate day;
+    
+    // Account number of the receiving account
+    private String payee;
+    
+    @Column(precision = 19, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+    
+    @Column(name = "transaction_count")
+    private long transactionCount;
+    
+    // Constructors
+    public AccountPayeeRollup() {}
+    
+    public AccountPayeeRollup(Long accountId, LocalDate day, String payee) {
+        this.accountId = accountId;
+        this.day = day;
+        this.payee = payee;
+    }
+    
+    public void addPayment(BigDecimal paymentAmount) {
+        this.amount = this.amount.add(paymentAmount);
+        this.transactionCount++;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public Long getAccountId() { return accountId; }
+    public void setAccountId(Long accountId) { this.accountId = accountId; }
+    
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    
+    public String getPayee() { return payee; }
+    public void setPayee(String payee) { this.payee = payee; }
+    
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+}
@@ -0,0 +1,68 @@
+package com.banking.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "batch_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"job_name", "run_key", "partition_start", "partition_end"}))
+public class BatchCheckpoint {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "job_name")
+    private String jobName;
+    
+    @Column(name = "run_key")
+    private String runKey;
+    
+    @Column(name = "partition_start")
+    private Long partitionStart;
+    
+    @Column(name = "partition_end")
+    private Long partitionEnd;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt = LocalDateTime.now();
+    
+    // Constructors
+    public BatchCheckpoint() {}
+    
+    public BatchCheckpoint(String jobName, String runKey, Long partitionStart, Long partitionEnd) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.partitionStart = partitionStart;
+        this.partitionEnd = partitionEnd;
+    }
+    
+    // A resumed run skips a partition only if the same range was completed: after a change of
+    // partition size the old checkpoints cover different ranges and count for nothing
+    public static String range(long start, long end) {
+        return start + "-" + end;
+    }
+    
+    public String getRange() {
+        return range(partitionStart, partitionEnd);
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public String getJobName() { return jobName; }
+    public void setJobName(String jobName) { this.jobName = jobName; }
+    
+    public String getRunKey() { return runKey; }
+    public void setRunKey(String runKey) { this.runKey = runKey; }
+    
+    public Long getPartitionStart() { return partitionStart; }
+    public void setPartitionStart(Long partitionStart) { this.partitionStart = partitionStart; }
+    
+    public Long getPartitionEnd() { return partitionEnd; }
+    public void setPartitionEnd(Long partitionEnd) { this.partitionEnd = partitionEnd; }
+    
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
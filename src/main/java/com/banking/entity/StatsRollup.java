@@ -0,0 +1,62 @@
+package com.banking.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stats_rollups",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"transaction_type", "bucket_start"}))
+public class StatsRollup {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type")
+    private TransactionType transactionType;
+    
+    // Start of the hour the postings fall in
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "transaction_count")
+    private long transactionCount;
+    
+    @Column(name = "total_amount", precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt = LocalDateTime.now();
+    
+    // Constructors
+    public StatsRollup() {}
+    
+    public StatsRollup(TransactionType transactionType, LocalDateTime bucketStart,
+                       long transactionCount, BigDecimal totalAmount) {
+        this.transactionType = transactionType;
+        this.bucketStart = bucketStart;
+        this.transactionCount = transactionCount;
+        this.totalAmount = totalAmount;
+    }
+    
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    
+    public TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(TransactionType transactionType) { this.transactionType = transactionType; }
+    
+    public LocalDateTime getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDateTime bucketStart) { this.bucketStart = bucketStart; }
+    
+    public long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(long transactionCount) { this.transactionCount = transactionCount; }
+    
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+    
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
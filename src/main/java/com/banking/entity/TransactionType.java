@@ -1,5 +1,5 @@
 package com.banking.entity;
 
 public enum TransactionType {
-    TRANSFER, DEPOSIT, WITHDRAWAL, PAYMENT
+    TRANSFER, DEPOSIT, WITHDRAWAL, PAYMENT, INTEREST
 }
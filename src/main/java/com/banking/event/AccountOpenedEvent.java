@@ -0,0 +1,20 @@
+package com.banking.event;
+
+import com.banking.entity.AccountType;
+
+public class AccountOpenedEvent {
+    
+    private final Long accountId;
+    private final AccountType accountType;
+    
+    // Constructors
+    public AccountOpenedEvent(Long accountId, AccountType accountType) {
+        this.accountId = accountId;
+        this.accountType = accountType;
+    }
+    
+    // Getters
+    public Long getAccountId() { return accountId; }
+    
+    public AccountType getAccountType() { return accountType; }
+}
@@ -0,0 +1,88 @@
+package com.banking.event;
+
+import com.banking.entity.Account;
+import com.banking.entity.Transaction;
+import com.banking.entity.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Published when money moves; after-commit listeners only see postings that were committed.
+// Carries ids and numbers rather than entities, which are detached by the time it is handled.
+public class PostingEvent {
+    
+    private final Long transactionId;
+    private final TransactionType transactionType;
+    private final BigDecimal amount;
+    private final Long fromAccountId;
+    private final String fromAccountNumber;
+    private final Long fromUserId;
+    private final BigDecimal fromBalance;
+    private final Long toAccountId;
+    private final String toAccountNumber;
+    private final Long toUserId;
+    private final BigDecimal toBalance;
+    private final LocalDateTime occurredAt;
+    
+    // Constructors
+    public PostingEvent(Transaction transaction) {
+        Account fromAccount = transaction.getFromAccount();
+        Account toAccount = transaction.getToAccount();
+        this.transactionId = transaction.getId();
+        this.transactionType = transaction.getTransactionType();
+        this.amount = transaction.getAmount();
+        this.fromAccountId = fromAccount != null ? fromAccount.getId() : null;
+        this.fromAccountNumber = fromAccount != null ? fromAccount.getAccountNumber() : null;
+        this.fromUserId = fromAccount != null ? fromAccount.getUser().getId() : null;
+        this.fromBalance = fromAccount != null ? fromAccount.getBalance() : null;
+        this.toAccountId = toAccount != null ? toAccount.getId() : null;
+        this.toAccountNumber = toAccount != null ? toAccount.getAccountNumber() : null;
+        this.toUserId = toAccount != null ? toAccount.getUser().getId() : null;
+        this.toBalance = toAccount != null ? toAccount.getBalance() : null;
+        this.occurredAt = transaction.getTransactionDate();
+    }
+    
+    // A credit written without an entity, e.g. in bulk over JDBC
+    public PostingEvent(Long transactionId, TransactionType transactionType, BigDecimal amount,
+                        Long toAccountId, String toAccountNumber, Long toUserId, BigDecimal toBalance,
+                        LocalDateTime occurredAt) {
+        this.transactionId = transactionId;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.fromAccountId = null;
+        this.fromAccountNumber = null;
+        this.fromUserId = null;
+        this.fromBalance = null;
+        this.toAccountId = toAccountId;
+        this.toAccountNumber = toAccountNumber;
+        this.toUserId = toUserId;
+        this.toBalance = toBalance;
+        this.occurredAt = occurredAt;
+    }
+    
+    // Getters
+    public Long getTransactionId() { return transactionId; }
+    
+    public TransactionType getTransactionType() { return transactionType; }
+    
+    public BigDecimal getAmount() { return amount; }
+    
+    public Long getFromAccountId() { return fromAccountId; }
+    
+    public String getFromAccountNumber() { return fromAccountNumber; }
+    
+    public Long getFromUserId() { return fromUserId; }
+    
+    // Balance right after this posting
+    public BigDecimal getFromBalance() { return fromBalance; }
+    
+    public Long getToAccountId() { return toAccountId; }
+    
+    public String getToAccountNumber() { return toAccountNumber; }
+    
+    public Long getToUserId() { return toUserId; }
+    
+    public BigDecimal getToBalance() { return toBalance; }
+    
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
@@ -0,0 +1,60 @@
+package com.banking.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Times every handler in com.banking.controller from preHandle to afterCompletion. For async
+// responses (streamed statements and exports, event streams) that is until the body completes.
+public class EndpointLatencyInterceptor implements HandlerInterceptor {
+    
+    private static final String START_ATTRIBUTE = EndpointLatencyInterceptor.class.getName() + ".start";
+    
+    private static final String CONTROLLER_PACKAGE = "com.banking.controller";
+    
+    private final EndpointLatencyRecorder recorder;
+    
+    private final ConcurrentMap<Method, String> names = new ConcurrentHashMap<>();
+    
+    public EndpointLatencyInterceptor(EndpointLatencyRecorder recorder) {
+        this.recorder = recorder;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The async dispatch that finishes a streamed response runs preHandle again; keep the first start
+        if (isController(handler) && request.getAttribute(START_ATTRIBUTE) == null) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start instanceof Long && handler instanceof HandlerMethod handlerMethod) {
+            recorder.record(nameOf(handlerMethod), System.nanoTime() - (Long) start);
+        }
+    }
+    
+    private static boolean isController(Object handler) {
+        return handler instanceof HandlerMethod handlerMethod
+                && handlerMethod.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE);
+    }
+    
+    private String nameOf(HandlerMethod handlerMethod) {
+        Method method = handlerMethod.getMethod();
+        String name = names.get(method);
+        if (name == null) {
+            name = names.computeIfAbsent(method,
+                    m -> handlerMethod.getBeanType().getSimpleName() + "." + m.getName());
+        }
+        return name;
+    }
+}
@@ -0,0 +1,134 @@
+package com.banking.monitoring;
+
+import com.banking.dto.EndpointLatency;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Per-endpoint latency in HdrHistograms. Request threads write through a Recorder, which is
+// wait-free; the scheduler swaps out its interval histogram once per interval and keeps the
+// non-empty ones for the query windows, plus a running total since startup.
+@Component
+public class EndpointLatencyRecorder {
+    
+    // Microseconds from 1 us to 5 minutes, at 2 significant digits (values within 1%)
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final int SIGNIFICANT_DIGITS = 2;
+    
+    @Value("${latency.interval-ms:60000}")
+    private long intervalMs;
+    
+    @Value("${latency.retained-intervals:60}")
+    private int retainedIntervals;
+    
+    private final ConcurrentMap<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    
+    private long currentInterval;
+    
+    public void record(String endpoint, long elapsedNanos) {
+        Endpoint target = endpoints.get(endpoint);
+        if (target == null) {
+            target = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        target.recorder.recordValue(Math.max(1, Math.min(micros, HIGHEST_TRACKABLE_MICROS)));
+    }
+    
+    @Scheduled(fixedRateString = "${latency.interval-ms:60000}")
+    public synchronized void rotate() {
+        currentInterval++;
+        endpoints.values().forEach(endpoint -> endpoint.rotate(currentInterval, retainedIntervals));
+    }
+    
+    // Percentiles over the last windowMinutes of completed intervals, or since startup for 0
+    public synchronized List<EndpointLatency> getLatency(int windowMinutes) {
+        long intervals = windowMinutes > 0
+                ? Math.max(1, TimeUnit.MINUTES.toMillis(windowMinutes) / intervalMs) : 0;
+        Map<String, EndpointLatency> byName = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> {
+            Histogram histogram = endpoint.merge(currentInterval, intervals);
+            if (histogram.getTotalCount() > 0) {
+                byName.put(name, toLatency(name, windowMinutes, histogram));
+            }
+        });
+        return new ArrayList<>(byName.values());
+    }
+    
+    public int getMaxWindowMinutes() {
+        return (int) (TimeUnit.MILLISECONDS.toMinutes(intervalMs) * retainedIntervals);
+    }
+    
+    private static EndpointLatency toLatency(String name, int windowMinutes, Histogram histogram) {
+        return new EndpointLatency(name, windowMinutes, histogram.getTotalCount(),
+                                   millis(histogram.getMean()),
+                                   millis(histogram.getValueAtPercentile(50.0)),
+                                   millis(histogram.getValueAtPercentile(90.0)),
+                                   millis(histogram.getValueAtPercentile(99.0)),
+                                   millis(histogram.getValueAtPercentile(99.9)),
+                                   millis(histogram.getMaxValue()));
+    }
+    
+    private static double millis(double micros) {
+        return Math.round(micros) / 1000.0;
+    }
+    
+    private static class Endpoint {
+        
+        private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram sinceStart = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        // Newest first; idle intervals are not kept, so quiet endpoints cost almost nothing
+        private final Deque<Interval> intervals = new ArrayDeque<>();
+        private Histogram spare;
+        
+        void rotate(long sequence, int retained) {
+            Histogram histogram = recorder.getIntervalHistogram(spare);
+            spare = null;
+            while (!intervals.isEmpty() && intervals.peekLast().sequence <= sequence - retained) {
+                spare = intervals.pollLast().histogram;
+            }
+            if (histogram.getTotalCount() == 0) {
+                spare = histogram;
+                return;
+            }
+            sinceStart.add(histogram);
+            intervals.addFirst(new Interval(sequence, histogram));
+        }
+        
+        Histogram merge(long sequence, long count) {
+            if (count == 0) {
+                return sinceStart.copy();
+            }
+            Histogram merged = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+            for (Interval interval : intervals) {
+                if (interval.sequence <= sequence - count) {
+                    break;
+                }
+                merged.add(interval.histogram);
+            }
+            return merged;
+        }
+    }
+    
+    private static class Interval {
+        
+        private final long sequence;
+        private final Histogram histogram;
+        
+        Interval(long sequence, Histogram histogram) {
+            this.sequence = sequence;
+            this.histogram = histogram;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.banking.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Most SQL statements a request to the annotated handler may issue on the request thread.
+// Exceeding it is logged, or fails the request when sql-stats.fail-on-budget is set (tests).
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SqlBudget {
+    
+    int statements();
+}
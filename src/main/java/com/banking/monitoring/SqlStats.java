@@ -0,0 +1,113 @@
+package com.banking.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Statements, rows and database time of the unit of work running on the current thread,
+// usually one HTTP request. Work the request hands to a pool is counted when the task is
+// wrapped with propagate(...); other threads (async bodies, batch pools) are not counted.
+public class SqlStats {
+    
+    private static final ThreadLocal<SqlStats> CURRENT = new ThreadLocal<>();
+    
+    // Atomic, since propagated tasks record into the same stats from several threads
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    
+    public static SqlStats begin() {
+        SqlStats stats = new SqlStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    public static SqlStats current() {
+        return CURRENT.get();
+    }
+    
+    // For tests: runs the work and returns what it cost, e.g.
+    // SqlStats.capture(() -> mockMvc.perform(...)).assertStatementsAtMost(5)
+    public static SqlStats capture(ThrowingRunnable work) throws Exception {
+        SqlStats outer = CURRENT.get();
+        SqlStats stats = begin();
+        try {
+            work.run();
+            return stats;
+        } finally {
+            if (outer != null) {
+                outer.add(stats);
+                CURRENT.set(outer);
+            } else {
+                end();
+            }
+        }
+    }
+    
+    // Runs the task against the caller's SqlStats on whichever thread executes it, e.g.
+    // CompletableFuture.supplyAsync(SqlStats.propagate(() -> ...), executor)
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        SqlStats stats = CURRENT.get();
+        if (stats == null) {
+            return task;
+        }
+        return () -> {
+            SqlStats previous = CURRENT.get();
+            CURRENT.set(stats);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+    
+    public SqlStats assertStatementsAtMost(int maxStatements) {
+        if (statements.get() > maxStatements) {
+            throw new AssertionError("Expected at most " + maxStatements + " SQL statements but " + this);
+        }
+        return this;
+    }
+    
+    void recordStatement(long elapsedNanos) {
+        statements.incrementAndGet();
+        nanos.addAndGet(elapsedNanos);
+    }
+    
+    void recordRows(long count) {
+        rows.addAndGet(count);
+    }
+    
+    private void add(SqlStats other) {
+        statements.addAndGet(other.getStatements());
+        rows.addAndGet(other.getRows());
+        nanos.addAndGet(other.getNanos());
+    }
+    
+    public int getStatements() { return statements.get(); }
+    
+    public long getRows() { return rows.get(); }
+    
+    public long getNanos() { return nanos.get(); }
+    
+    public long getMillis() { return TimeUnit.NANOSECONDS.toMillis(nanos.get()); }
+    
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + getMillis() + " ms";
+    }
+    
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
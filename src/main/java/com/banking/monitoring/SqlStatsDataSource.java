@@ -0,0 +1,158 @@
+package com.banking.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Counts statements, rows and execution time into the thread's SqlStats. Connections,
+// statements and result sets are JDK proxies over the pool's objects; with no SqlStats
+// bound to the thread they only pass calls through.
+public class SqlStatsDataSource extends DelegatingDataSource {
+    
+    public SqlStatsDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+    
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlStatsDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, handler));
+    }
+    
+    // Identity stays with the proxy, so callers comparing connections see the one they were given
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+    
+    private static class ConnectionHandler implements InvocationHandler {
+        
+        private final Connection target;
+        
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement));
+            }
+            return result;
+        }
+    }
+    
+    private static class StatementHandler implements InvocationHandler {
+        
+        private final Statement target;
+        
+        StatementHandler(Statement target) {
+            this.target = target;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            SqlStats stats = SqlStats.current();
+            if (stats == null) {
+                return SqlStatsDataSource.invoke(proxy, target, method, args);
+            }
+            
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+                stats.recordStatement(System.nanoTime() - start);
+                return countRows(stats, result);
+            }
+            
+            Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+            if (result instanceof ResultSet resultSet && name.equals("getResultSet")) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            return result;
+        }
+        
+        // Rows read are counted as the result set is iterated, rows written from the update counts
+        private static Object countRows(SqlStats stats, Object result) {
+            if (result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet));
+            }
+            if (result instanceof Integer count && count > 0) {
+                stats.recordRows(count);
+            } else if (result instanceof Long count && count > 0) {
+                stats.recordRows(count);
+            } else if (result instanceof int[] counts) {
+                for (int count : counts) {
+                    if (count > 0) {
+                        stats.recordRows(count);
+                    }
+                }
+            } else if (result instanceof long[] counts) {
+                for (long count : counts) {
+                    if (count > 0) {
+                        stats.recordRows(count);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+    
+    private static class ResultSetHandler implements InvocationHandler {
+        
+        private final ResultSet target;
+        
+        ResultSetHandler(ResultSet target) {
+            this.target = target;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlStatsDataSource.invoke(proxy, target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                SqlStats stats = SqlStats.current();
+                if (stats != null) {
+                    stats.recordRows(1);
+                }
+            }
+            return result;
+        }
+    }
+}
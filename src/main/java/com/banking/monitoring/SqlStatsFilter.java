@@ -0,0 +1,115 @@
+package com.banking.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Binds a SqlStats to each request and reports it: response headers (dev), a log line when the
+// request goes over its budget and per-endpoint meters. Registered ahead of the security chain,
+// so the authentication lookups are counted too.
+public class SqlStatsFilter extends OncePerRequestFilter {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final boolean responseHeaders;
+    private final int defaultBudget;
+    private final boolean failOnBudget;
+    
+    public SqlStatsFilter(MeterRegistry meterRegistry, boolean responseHeaders, int defaultBudget,
+                          boolean failOnBudget) {
+        this.meterRegistry = meterRegistry;
+        this.responseHeaders = responseHeaders;
+        this.defaultBudget = defaultBudget;
+        this.failOnBudget = failOnBudget;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStats stats = SqlStats.begin();
+        HttpServletResponse target = response;
+        if (responseHeaders) {
+            // Headers have to be set before the body commits the response
+            target = new OnCommittedResponseWrapper(response) {
+                @Override
+                protected void onResponseCommitted() {
+                    writeHeaders(response, stats);
+                }
+            };
+        }
+        
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            SqlStats.end();
+            if (responseHeaders && !response.isCommitted()) {
+                writeHeaders(response, stats);
+            }
+            report(request, stats);
+        }
+    }
+    
+    private void report(HttpServletRequest request, SqlStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNMATCHED";
+        String method = request.getMethod();
+        
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements issued per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getStatements());
+        DistributionSummary.builder("http.server.sql.rows")
+                .description("Rows read or written per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getRows());
+        Timer.builder("http.server.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(stats.getNanos(), TimeUnit.NANOSECONDS);
+        
+        int budget = budgetOf(request);
+        if (stats.getStatements() <= budget) {
+            logger.debug("{} {}: {}", method, uri, stats);
+            return;
+        }
+        String message = method + " " + uri + " issued " + stats + ", over its budget of " + budget + " statements";
+        if (failOnBudget) {
+            throw new AssertionError(message);
+        }
+        logger.warn(message);
+    }
+    
+    private int budgetOf(HttpServletRequest request) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            SqlBudget budget = handlerMethod.getMethodAnnotation(SqlBudget.class);
+            if (budget != null) {
+                return budget.statements();
+            }
+        }
+        return defaultBudget;
+    }
+    
+    private static void writeHeaders(HttpServletResponse response, SqlStats stats) {
+        response.setHeader("X-SQL-Statements", String.valueOf(stats.getStatements()));
+        response.setHeader("X-SQL-Rows", String.valueOf(stats.getRows()));
+        response.setHeader("X-SQL-Time-Ms", String.valueOf(stats.getMillis()));
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.banking.AuditWrite")
+@Label("Audit Write")
+@Description("Insert of one audit log entry")
+@Category("Banking")
+@StackTrace(false)
+public class AuditWriteEvent extends jdk.jfr.Event {
+    
+    @Label("Action")
+    String action;
+    
+    @Label("Entity Type")
+    String entityType;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    public void finish(String action, String entityType, RuntimeException error) {
+        end();
+        if (shouldCommit()) {
+            this.action = action;
+            this.entityType = entityType;
+            this.outcome = error == null ? "completed" : "failed";
+            commit();
+        }
+    }
+}
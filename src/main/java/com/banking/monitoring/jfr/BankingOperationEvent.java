@@ -0,0 +1,77 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+
+// Base of the money-moving events. Callers begin() before the operation and finish() after it;
+// the fields are only filled in when the event is enabled and over its threshold, so a disabled
+// event costs a couple of no-op calls.
+@Category("Banking")
+@StackTrace(false)
+public abstract class BankingOperationEvent extends jdk.jfr.Event {
+    
+    @Label("Account")
+    String accountNumber;
+    
+    @Label("Amount Bucket")
+    String amountBucket;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    @Label("Failure")
+    String failure;
+    
+    public void finish(String accountNumber, BigDecimal amount, RuntimeException error) {
+        end();
+        if (shouldCommit()) {
+            this.accountNumber = accountNumber;
+            this.amountBucket = amountBucket(amount);
+            this.outcome = error == null ? "completed" : "failed";
+            this.failure = error != null ? error.getMessage() : null;
+            commit();
+        }
+    }
+    
+    // Money only moves once the surrounding transaction commits, so inside one the event ends
+    // with it and a commit that fails is recorded as a failure
+    public void finishOnCompletion(String accountNumber, BigDecimal amount, RuntimeException error) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            finish(accountNumber, amount, error);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                RuntimeException failure = error;
+                if (failure == null && status != STATUS_COMMITTED) {
+                    failure = new RuntimeException(status == STATUS_ROLLED_BACK
+                            ? "Transaction rolled back" : "Transaction outcome unknown");
+                }
+                finish(accountNumber, amount, failure);
+            }
+        });
+    }
+    
+    // Coarse buckets keep amounts out of recordings while still separating small and large operations
+    static String amountBucket(BigDecimal amount) {
+        if (amount == null) {
+            return "unknown";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(100)) < 0) {
+            return "<100";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(1_000)) < 0) {
+            return "100-1k";
+        }
+        if (amount.compareTo(BigDecimal.valueOf(10_000)) < 0) {
+            return "1k-10k";
+        }
+        return ">=10k";
+    }
+}
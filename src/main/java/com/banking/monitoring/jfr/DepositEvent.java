@@ -0,0 +1,11 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.banking.Deposit")
+@Label("Deposit")
+@Description("Deposit into an account")
+public class DepositEvent extends BankingOperationEvent {
+}
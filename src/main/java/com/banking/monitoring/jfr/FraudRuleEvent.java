@@ -0,0 +1,47 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.math.BigDecimal;
+
+@Name("com.banking.FraudRule")
+@Label("Fraud Rule")
+@Description("Evaluation of one fraud rule for a transfer")
+@Category("Banking")
+@StackTrace(false)
+public class FraudRuleEvent extends jdk.jfr.Event {
+    
+    @Label("Rule")
+    String rule;
+    
+    @Label("Account")
+    String accountNumber;
+    
+    @Label("Amount Bucket")
+    String amountBucket;
+    
+    // pass, flag (allowed and audited) or block
+    @Label("Outcome")
+    String outcome;
+    
+    public static FraudRuleEvent start(String rule) {
+        FraudRuleEvent event = new FraudRuleEvent();
+        event.rule = rule;
+        event.begin();
+        return event;
+    }
+    
+    public void finish(String accountNumber, BigDecimal amount, String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.accountNumber = accountNumber;
+            this.amountBucket = BankingOperationEvent.amountBucket(amount);
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Per-operation latency table of the banking events in a recording:
+// java -cp target/classes com.banking.monitoring.jfr.JfrSummary banking.jfr
+public class JfrSummary {
+    
+    private static final String EVENT_PREFIX = "com.banking.";
+    
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: JfrSummary <recording.jfr>");
+            System.exit(2);
+        }
+        
+        // Operation (and fraud rule) / outcome -> durations in nanos
+        Map<String, List<Long>> durations = new TreeMap<>();
+        try (RecordingFile recording = new RecordingFile(Path.of(args[0]))) {
+            while (recording.hasMoreEvents()) {
+                RecordedEvent event = recording.readEvent();
+                String name = event.getEventType().getName();
+                if (name.startsWith(EVENT_PREFIX)) {
+                    durations.computeIfAbsent(keyOf(event, name.substring(EVENT_PREFIX.length())),
+                            key -> new ArrayList<>()).add(event.getDuration().toNanos());
+                }
+            }
+        }
+        
+        if (durations.isEmpty()) {
+            System.out.println("No banking events in " + args[0]);
+            return;
+        }
+        System.out.printf("%-40s %8s %10s %10s %10s %10s %10s%n",
+                          "operation / outcome", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms");
+        durations.forEach((key, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            System.out.printf("%-40s %8d %10.3f %10.3f %10.3f %10.3f %10.1f%n", key, sorted.length,
+                              millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                              millis(percentile(sorted, 0.99)), millis(sorted[sorted.length - 1]),
+                              millis(Arrays.stream(sorted).sum()));
+        });
+    }
+    
+    private static String keyOf(RecordedEvent event, String operation) {
+        String key = operation;
+        if (event.hasField("rule")) {
+            key += ":" + event.getString("rule");
+        }
+        if (event.hasField("outcome") && event.getString("outcome") != null) {
+            key += " / " + event.getString("outcome");
+        }
+        return key;
+    }
+    
+    // Nearest-rank percentile of sorted values
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+    
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,34 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.banking.StatementRender")
+@Label("Statement Render")
+@Description("Rendering of one PDF statement, including reading its rows")
+@Category("Banking")
+@StackTrace(false)
+public class StatementRenderEvent extends jdk.jfr.Event {
+    
+    @Label("Account")
+    String accountNumber;
+    
+    @Label("Rows")
+    int rows;
+    
+    @Label("Outcome")
+    String outcome;
+    
+    public void finish(String accountNumber, int rows, RuntimeException error) {
+        end();
+        if (shouldCommit()) {
+            this.accountNumber = accountNumber;
+            this.rows = rows;
+            this.outcome = error == null ? "completed" : "failed";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.math.BigDecimal;
+
+@Name("com.banking.Transfer")
+@Label("Transfer")
+@Description("Funds transfer between two accounts, from the first query to the end of its transaction")
+public class TransferEvent extends BankingOperationEvent {
+    
+    @Label("To Account")
+    String toAccountNumber;
+    
+    public void finish(String fromAccountNumber, String toAccountNumber, BigDecimal amount, RuntimeException error) {
+        this.toAccountNumber = toAccountNumber;
+        finish(fromAccountNumber, amount, error);
+    }
+    
+    public void finishOnCompletion(String fromAccountNumber, String toAccountNumber, BigDecimal amount,
+                                   RuntimeException error) {
+        this.toAccountNumber = toAccountNumber;
+        finishOnCompletion(fromAccountNumber, amount, error);
+    }
+}
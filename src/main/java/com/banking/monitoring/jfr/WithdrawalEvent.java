@@ -0,0 +1,11 @@
+package com.banking.monitoring.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("com.banking.Withdrawal")
+@Label("Withdrawal")
+@Description("Withdrawal from an account")
+public class WithdrawalEvent extends BankingOperationEvent {
+}
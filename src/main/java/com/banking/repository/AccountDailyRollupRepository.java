@@ -0,0 +1,28 @@
+package com.banking.repository;
+
+import com.banking.entity.AccountDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountDailyRollupRepository extends JpaRepository<AccountDailyRollup, Long> {
+    List<AccountDailyRollup> findByAccountIdInAndDayGreaterThanEqual(Collection<Long> accountIds, LocalDate since);
+    
+    @Modifying
+    @Query("UPDATE AccountDailyRollup r SET r.inflow = r.inflow + :inflow, r.outflow = r.outflow + :outflow, " +
+           "r.transactionCount = r.transactionCount + 1 WHERE r.accountId = :accountId AND r.day = :day")
+    int addPosting(@Param("accountId") Long accountId, @Param("day") LocalDate day,
+                   @Param("inflow") BigDecimal inflow, @Param("outflow") BigDecimal outflow);
+    
+    @Modifying
+    @Query("DELETE FROM AccountDailyRollup r WHERE r.accountId BETWEEN :startId AND :endId")
+    int deleteByAccountIdRange(@Param("startId") Long startId, @Param("endId") Long endId);
+}
@@ -0,0 +1,39 @@
+package com.banking.repository;
+
+import com.banking.dto.PayeeTotal;
+import com.banking.entity.AccountPayeeRollup;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface AccountPayeeRollupRepository extends JpaRepository<AccountPayeeRollup, Long> {
+    
+    // Payments to the user's own accounts are moves between pockets, not spending
+    @Query("SELECT new com.banking.dto.PayeeTotal(r.payee, SUM(r.amount), SUM(r.transactionCount)) " +
+           "FROM AccountPayeeRollup r WHERE r.accountId IN :accountIds AND r.day >= :since " +
+           "AND r.payee NOT IN :ownAccountNumbers GROUP BY r.payee ORDER BY SUM(r.amount) DESC")
+    List<PayeeTotal> findTopPayees(@Param("accountIds") Collection<Long> accountIds,
+                                   @Param("since") LocalDate since,
+                                   @Param("ownAccountNumbers") Collection<String> ownAccountNumbers,
+                                   Pageable pageable);
+    
+    @Modifying
+    @Query("UPDATE AccountPayeeRollup r SET r.amount = r.amount + :amount, " +
+           "r.transactionCount = r.transactionCount + 1 " +
+           "WHERE r.accountId = :accountId AND r.day = :day AND r.payee = :payee")
+    int addPayment(@Param("accountId") Long accountId, @Param("day") LocalDate day,
+                   @Param("payee") String payee, @Param("amount") BigDecimal amount);
+    
+    @Modifying
+    @Query("DELETE FROM AccountPayeeRollup r WHERE r.accountId BETWEEN :startId AND :endId")
+    int deleteByAccountIdRange(@Param("startId") Long startId, @Param("endId") Long endId);
+}
@@ -3,6 +3,8 @@ package com.banking.repository;
 import com.banking.entity.Account;
 import com.banking.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +14,18 @@ import java.util.Optional;
 public interface AccountRepository extends JpaRepository<Account, Long> {
     List<Account> findByUser(User user);
     List<Account> findByUserAndActiveTrue(User user);
+    List<Account> findByUserId(Long userId);
+    List<Account> findByUserIdAndActiveTrue(Long userId);
     Optional<Account> findByAccountNumber(String accountNumber);
     boolean existsByAccountNumber(String accountNumber);
+    long countByActiveTrue();
+    
+    @Query("SELECT MIN(a.id) FROM Account a")
+    Long findMinId();
+    
+    @Query("SELECT MAX(a.id) FROM Account a")
+    Long findMaxId();
+    
+    @Query("SELECT a.accountNumber FROM Account a WHERE a.active = true AND a.id BETWEEN :startId AND :endId ORDER BY a.id")
+    List<String> findActiveAccountNumbersByIdRange(@Param("startId") Long startId, @Param("endId") Long endId);
 }
@@ -0,0 +1,15 @@
+package com.banking.repository;
+
+import com.banking.entity.BatchCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface BatchCheckpointRepository extends JpaRepository<BatchCheckpoint, Long> {
+    @Query("SELECT c FROM BatchCheckpoint c WHERE c.jobName = :jobName AND c.runKey = :runKey")
+    List<BatchCheckpoint> findCompleted(@Param("jobName") String jobName, @Param("runKey") String runKey);
+}
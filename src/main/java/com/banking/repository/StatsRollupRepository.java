@@ -0,0 +1,27 @@
+package com.banking.repository;
+
+import com.banking.entity.StatsRollup;
+import com.banking.entity.TransactionType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StatsRollupRepository extends JpaRepository<StatsRollup, Long> {
+    List<StatsRollup> findByBucketStartGreaterThanEqual(LocalDateTime since);
+    
+    // Adds a delta in place, so concurrent flushers never overwrite each other's counts
+    @Modifying
+    @Query("UPDATE StatsRollup r SET r.transactionCount = r.transactionCount + :count, " +
+           "r.totalAmount = r.totalAmount + :amount, r.updatedAt = :now " +
+           "WHERE r.transactionType = :type AND r.bucketStart = :bucketStart")
+    int addToBucket(@Param("type") TransactionType type, @Param("bucketStart") LocalDateTime bucketStart,
+                    @Param("count") long count, @Param("amount") BigDecimal amount,
+                    @Param("now") LocalDateTime now);
+}
@@ -1,22 +1,32 @@
 package com.banking.repository;
 
+import com.banking.dto.PostingRow;
+import com.banking.dto.TransactionResponse;
 import com.banking.entity.Account;
 import com.banking.entity.Transaction;
 import com.banking.entity.TransactionStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) ORDER BY t.transactionDate DESC")
+    // Both accounts are fetched with the page; the rows render their account numbers
+    @Query(value = "SELECT t FROM Transaction t LEFT JOIN FETCH t.fromAccount LEFT JOIN FETCH t.toAccount " +
+                   "WHERE (t.fromAccount = :account OR t.toAccount = :account) ORDER BY t.transactionDate DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account)")
     Page<Transaction> findByAccount(@Param("account") Account account, Pageable pageable);
     
     @Query("SELECT t FROM Transaction t WHERE (t.fromAccount = :account OR t.toAccount = :account) " +
@@ -25,9 +35,82 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
                                                @Param("startDate") LocalDateTime startDate, 
                                                @Param("endDate") LocalDateTime endDate);
     
+    // Cursor-style read for bulk output: rows are fetched in chunks and never become managed entities
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.banking.dto.TransactionResponse(t.id, fa.accountNumber, ta.accountNumber, t.amount, " +
+           "t.transactionType, t.status, t.description, t.referenceNumber, t.transactionDate, t.processedDate) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
+    Stream<TransactionResponse> streamByAccountIdAndDateRange(@Param("accountId") Long accountId,
+                                                             @Param("startDate") LocalDateTime startDate,
+                                                             @Param("endDate") LocalDateTime endDate);
+    
+    // Same rows for a half-open period [startDate, endDate), as used by monthly statements
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.banking.dto.TransactionResponse(t.id, fa.accountNumber, ta.accountNumber, t.amount, " +
+           "t.transactionType, t.status, t.description, t.referenceNumber, t.transactionDate, t.processedDate) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endDate ORDER BY t.transactionDate DESC")
+    Stream<TransactionResponse> streamByAccountIdAndPeriod(@Param("accountId") Long accountId,
+                                                           @Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
+    
+    // Balance as of an instant, rebuilt from the completed postings the same way reconciliation does
+    @Query("SELECT COALESCE(SUM(CASE WHEN ta.id = :accountId THEN t.amount ELSE -t.amount END), 0) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND t.status = com.banking.entity.TransactionStatus.COMPLETED AND t.transactionDate < :before")
+    BigDecimal balanceBefore(@Param("accountId") Long accountId, @Param("before") LocalDateTime before);
+    
+    @Query("SELECT COALESCE(SUM(CASE WHEN ta.id = :accountId THEN t.amount ELSE -t.amount END), 0) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.id = :accountId OR ta.id = :accountId) " +
+           "AND t.status = com.banking.entity.TransactionStatus.COMPLETED AND t.transactionDate <= :at")
+    BigDecimal balanceAt(@Param("accountId") Long accountId, @Param("at") LocalDateTime at);
+    
+    @Query("SELECT MAX(t.id) FROM Transaction t")
+    Long findMaxId();
+    
+    // Both sides of completed postings up to a transaction id for a range of account ids, for
+    // partitioned bulk jobs
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.banking.dto.PostingRow(fa.id, ta.accountNumber, t.amount, t.transactionDate) " +
+           "FROM Transaction t JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE fa.id BETWEEN :startId AND :endId AND t.id <= :maxId " +
+           "AND t.status = com.banking.entity.TransactionStatus.COMPLETED")
+    Stream<PostingRow> streamOutflowsByAccountIdRange(@Param("startId") Long startId, @Param("endId") Long endId,
+                                                      @Param("maxId") Long maxId);
+    
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.banking.dto.PostingRow(ta.id, fa.accountNumber, t.amount, t.transactionDate) " +
+           "FROM Transaction t JOIN t.toAccount ta LEFT JOIN t.fromAccount fa " +
+           "WHERE ta.id BETWEEN :startId AND :endId AND t.id <= :maxId " +
+           "AND t.status = com.banking.entity.TransactionStatus.COMPLETED")
+    Stream<PostingRow> streamInflowsByAccountIdRange(@Param("startId") Long startId, @Param("endId") Long endId,
+                                                     @Param("maxId") Long maxId);
+    
     List<Transaction> findByStatus(TransactionStatus status);
     
-    @Query("SELECT t FROM Transaction t WHERE (t.fromAccount.user.id = :userId OR t.toAccount.user.id = :userId) " +
-           "ORDER BY t.transactionDate DESC")
+    // Outer joins, as deposits have no from account and withdrawals no to account
+    @Query(value = "SELECT t FROM Transaction t LEFT JOIN FETCH t.fromAccount fa LEFT JOIN FETCH t.toAccount ta " +
+                   "WHERE (fa.user.id = :userId OR ta.user.id = :userId) ORDER BY t.transactionDate DESC",
+           countQuery = "SELECT COUNT(t) FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+                        "WHERE (fa.user.id = :userId OR ta.user.id = :userId)")
     Page<Transaction> findByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // Latest rows only, as DTOs and without the count query a Page would add
+    @Query("SELECT new com.banking.dto.TransactionResponse(t.id, fa.accountNumber, ta.accountNumber, t.amount, " +
+           "t.transactionType, t.status, t.description, t.referenceNumber, t.transactionDate, t.processedDate) " +
+           "FROM Transaction t LEFT JOIN t.fromAccount fa LEFT JOIN t.toAccount ta " +
+           "WHERE (fa.user.id = :userId OR ta.user.id = :userId) ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+    
+    // Type, date and amount of bulk-loaded completed postings, for rebuilding the in-memory stats
+    @Query("SELECT t.transactionType, t.transactionDate, t.amount FROM Transaction t " +
+           "WHERE t.status = com.banking.entity.TransactionStatus.COMPLETED AND t.transactionDate >= :since " +
+           "AND t.referenceNumber LIKE CONCAT(:referencePrefix, '%')")
+    List<Object[]> findCompletedSinceByReferencePrefix(@Param("since") LocalDateTime since,
+                                                       @Param("referencePrefix") String referencePrefix);
 }
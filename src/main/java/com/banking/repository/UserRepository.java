@@ -1,10 +1,16 @@
 package com.banking.repository;
 
+import com.banking.dto.UserDTO;
 import com.banking.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +18,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    @Query("SELECT u.enabled FROM User u WHERE u.id = :id")
+    Optional<Boolean> findEnabledById(@Param("id") Long id);
+    
+    // Keyset paging: seeks past the last id seen instead of counting OFFSET rows
+    @Query("SELECT new com.banking.dto.UserDTO(u.id, u.username, u.email, u.firstName, u.lastName, " +
+           "u.phoneNumber, u.role, u.enabled, u.createdAt) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDTO> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT new com.banking.dto.UserDTO(u.id, u.username, u.email, u.firstName, u.lastName, " +
+           "u.phoneNumber, u.role, u.enabled, u.createdAt) FROM User u")
+    Stream<UserDTO> streamAllSummaries();
 }
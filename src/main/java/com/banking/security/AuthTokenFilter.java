@@ -1,6 +1,5 @@
 package com.banking.security;
 
-import com.banking.service.UserDetailsServiceImpl;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,7 +21,10 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
     
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private UserStatusCache userStatusCache;
+    
+    @Autowired
+    private StreamTicketService streamTicketService;
     
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
     
@@ -31,13 +32,20 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         try {
+            UserPrincipal principal = null;
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (jwt != null) {
+                principal = jwtUtils.parseJwtToken(jwt);
+            } else {
+                String ticket = parseStreamTicket(request);
+                if (ticket != null) {
+                    principal = streamTicketService.redeem(ticket);
+                }
+            }
+            
+            if (principal != null && userStatusCache.isActive(principal.getId(), principal.getIssuedAt())) {
                 UsernamePasswordAuthenticationToken authentication = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -58,4 +66,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         
         return null;
     }
+    
+    // EventSource cannot send headers, so the event stream alone takes a one-time ticket as a parameter
+    private String parseStreamTicket(HttpServletRequest request) {
+        if (request.getRequestURI().endsWith("/events/stream")) {
+            String ticketParam = request.getParameter("ticket");
+            if (StringUtils.hasText(ticketParam)) {
+                return ticketParam;
+            }
+        }
+        
+        return null;
+    }
 }
@@ -1,17 +1,31 @@
 package com.banking.security;
 
+import com.banking.entity.User;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
@@ -24,30 +38,64 @@ public class JwtUtils {
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
+    @Value("${jwt.verified-token-cache-size:10000}")
+    private int verifiedTokenCacheSize;
+    
+    private Key key;
+    
+    private JwtParser jwtParser;
+    
+    // SHA-256(token) -> principal, so a token reused across a page's burst of API calls is only
+    // verified once. Hits are plain concurrent reads; the size bound is enforced on insert.
+    private final ConcurrentMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+    
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    
+    @PostConstruct
+    void init() {
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        jwtParser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
+    
     public String generateJwtToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
         
         return Jwts.builder()
                 .setSubject((userPrincipal.getUsername()))
+                .claim("id", ((User) userPrincipal).getId())
+                .claim("roles", roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key(), SignatureAlgorithm.HS256)
+                .signWith(key, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    private Key key() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
-    }
-    
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
-    }
-    
-    public boolean validateJwtToken(String authToken) {
+    // Validates the token and extracts the principal in a single parse; returns null if invalid
+    public UserPrincipal parseJwtToken(String authToken) {
+        String digest = digest(authToken);
+        VerifiedToken verified = verifiedTokens.get(digest);
+        if (verified != null) {
+            if (verified.expiresAt > System.currentTimeMillis()) {
+                return verified.principal;
+            }
+            verifiedTokens.remove(digest, verified);
+            logger.error("JWT token is expired");
+            return null;
+        }
+        
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = jwtParser.parseClaimsJws(authToken).getBody();
+            UserPrincipal principal = toPrincipal(claims);
+            if (principal != null && verifiedTokenCacheSize > 0) {
+                verifiedTokens.put(digest, new VerifiedToken(principal, claims.getExpiration().getTime()));
+                if (verifiedTokens.size() > verifiedTokenCacheSize) {
+                    trim();
+                }
+            }
+            return principal;
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -56,8 +104,64 @@ public class JwtUtils {
             logger.error("JWT token is unsupported: {}", e.getMessage());
         } catch (IllegalArgumentException e) {
             logger.error("JWT claims string is empty: {}", e.getMessage());
+        } catch (JwtException e) {
+            logger.error("Invalid JWT signature: {}", e.getMessage());
         }
         
-        return false;
+        return null;
+    }
+    
+    private UserPrincipal toPrincipal(Claims claims) {
+        Long id = claims.get("id", Long.class);
+        List<?> roles = claims.get("roles", List.class);
+        if (id == null || roles == null || claims.getExpiration() == null) {
+            // Issued before the claims were added; the client has to sign in again
+            return null;
+        }
+        
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+        return new UserPrincipal(id, claims.getSubject(), authorities, claims.getIssuedAt());
+    }
+    
+    // Drops expired tokens first, then arbitrary ones down to 90% of the bound, so one
+    // sweep makes room for many inserts; an evicted token is simply verified again
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.currentTimeMillis();
+            verifiedTokens.values().removeIf(verified -> verified.expiresAt <= now);
+            int target = verifiedTokenCacheSize / 10 * 9;
+            Iterator<String> digests = verifiedTokens.keySet().iterator();
+            while (verifiedTokens.size() > target && digests.hasNext()) {
+                digests.next();
+                digests.remove();
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+    
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+    
+    private static class VerifiedToken {
+        
+        private final UserPrincipal principal;
+        private final long expiresAt;
+        
+        VerifiedToken(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,68 @@
+package com.banking.security;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class LoginThrottle {
+    
+    @Value("${auth.throttle.username-ip-burst:5}")
+    private int usernameIpBurst;
+    
+    @Value("${auth.throttle.username-ip-per-minute:5}")
+    private int usernameIpPerMinute;
+    
+    @Value("${auth.throttle.username-burst:20}")
+    private int usernameBurst;
+    
+    @Value("${auth.throttle.username-per-minute:10}")
+    private int usernamePerMinute;
+    
+    @Value("${auth.throttle.ip-burst:30}")
+    private int ipBurst;
+    
+    @Value("${auth.throttle.ip-per-minute:120}")
+    private int ipPerMinute;
+    
+    // Keyed by username and client address together, so guessing one user's password from one
+    // address is slowed down without letting anyone lock the user out from everywhere else
+    private RateLimiter<String> byUsernameAndIp;
+    
+    // Caps the guesses against one user spread over many addresses. Looser than the per-address
+    // limit, so locking a user out takes a sustained attack rather than a few requests
+    private RateLimiter<String> byUsername;
+    
+    private RateLimiter<String> byIp;
+    
+    @PostConstruct
+    void init() {
+        byUsernameAndIp = new RateLimiter<>(usernameIpBurst, usernameIpPerMinute);
+        byUsername = new RateLimiter<>(usernameBurst, usernamePerMinute);
+        byIp = new RateLimiter<>(ipBurst, ipPerMinute);
+    }
+    
+    // Returns 0 when the attempt may proceed, otherwise the seconds to wait
+    public long tryAcquire(String username, String ipAddress) {
+        String user = username.toLowerCase(Locale.ROOT);
+        long waitNanos = byIp.tryAcquire(ipAddress);
+        if (waitNanos == 0) {
+            waitNanos = byUsernameAndIp.tryAcquire(user + "@" + ipAddress);
+        }
+        if (waitNanos == 0) {
+            waitNanos = byUsername.tryAcquire(user);
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        byUsernameAndIp.evictIdle();
+        byUsername.evictIdle();
+        byIp.evictIdle();
+    }
+}
@@ -0,0 +1,36 @@
+package com.banking.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimiter<K> {
+    
+    private final ConcurrentMap<K, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final int burst;
+    private final long emissionIntervalNanos;
+    
+    public RateLimiter(int burst, int permitsPerMinute) {
+        this.burst = burst;
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / permitsPerMinute;
+    }
+    
+    // Returns 0 when the call is allowed, otherwise the nanos until it would be
+    public long tryAcquire(K key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new TokenBucket(burst, emissionIntervalNanos, now));
+        }
+        return bucket.tryConsume(now);
+    }
+    
+    public void evictIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+    
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,121 @@
+package com.banking.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Per-caller budgets, one per endpoint class, so a scripted client slows down only itself.
+// Runs after AuthTokenFilter: signed-in callers are keyed by user id, anyone else by address.
+public class RequestRateLimitFilter extends OncePerRequestFilter {
+    
+    enum EndpointClass { STANDARD, WRITE, EXPENSIVE }
+    
+    // Admin POSTs under these start bulk jobs
+    private static final List<String> ADMIN_JOB_PATHS = List.of(
+            "/admin/statements/", "/admin/analytics/backfill", "/admin/interest/", "/admin/reconciliation/");
+    
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+    
+    @Value("${rate-limit.standard.burst:100}")
+    private int standardBurst;
+    
+    @Value("${rate-limit.standard.per-minute:600}")
+    private int standardPerMinute;
+    
+    @Value("${rate-limit.write.burst:10}")
+    private int writeBurst;
+    
+    @Value("${rate-limit.write.per-minute:60}")
+    private int writePerMinute;
+    
+    @Value("${rate-limit.expensive.burst:3}")
+    private int expensiveBurst;
+    
+    @Value("${rate-limit.expensive.per-minute:10}")
+    private int expensivePerMinute;
+    
+    // Keys are Long user ids or String addresses, which never compare equal to each other
+    private final Map<EndpointClass, RateLimiter<Object>> limiters = new EnumMap<>(EndpointClass.class);
+    
+    @PostConstruct
+    void init() {
+        limiters.put(EndpointClass.STANDARD, new RateLimiter<>(standardBurst, standardPerMinute));
+        limiters.put(EndpointClass.WRITE, new RateLimiter<>(writeBurst, writePerMinute));
+        limiters.put(EndpointClass.EXPENSIVE, new RateLimiter<>(expensiveBurst, expensivePerMinute));
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Sign-in has its own throttle, and health checks must never be turned away
+        String path = request.getServletPath();
+        return !enabled || path.startsWith("/auth/") || path.equals("/health")
+                || path.startsWith("/actuator/") || "OPTIONS".equals(request.getMethod());
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long waitNanos = limiters.get(classify(request)).tryAcquire(callerKey(request));
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Error: Too many requests. Please try again later.");
+            return;
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    @Scheduled(fixedDelay = 60000)
+    public void evictIdleBuckets() {
+        limiters.values().forEach(RateLimiter::evictIdle);
+    }
+    
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.endsWith("/statement") || path.endsWith("/export")) {
+            return EndpointClass.EXPENSIVE;
+        }
+        if ("GET".equals(request.getMethod())) {
+            return EndpointClass.STANDARD;
+        }
+        if ("POST".equals(request.getMethod()) && ADMIN_JOB_PATHS.stream().anyMatch(path::startsWith)) {
+            return EndpointClass.EXPENSIVE;
+        }
+        // Other admin writes (promote, deactivate) touch one user
+        if (path.startsWith("/admin/")) {
+            return EndpointClass.WRITE;
+        }
+        if (path.endsWith("/transfer") || path.endsWith("/deposit") || path.endsWith("/withdraw")) {
+            return EndpointClass.WRITE;
+        }
+        return EndpointClass.STANDARD;
+    }
+    
+    private static Object callerKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal) {
+            return ((UserPrincipal) authentication.getPrincipal()).getId();
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,63 @@
+package com.banking.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// EventSource cannot send an Authorization header, and a JWT in the query string ends up in
+// access logs and proxies. The client trades its JWT for a ticket that opens one event stream
+// and expires within seconds, so a logged URL is useless by the time anyone reads it.
+@Component
+public class StreamTicketService {
+    
+    private static final SecureRandom RANDOM = new SecureRandom();
+    
+    @Value("${events.ticket-ttl-ms:30000}")
+    private long ticketTtlMs;
+    
+    private final ConcurrentMap<String, Ticket> tickets = new ConcurrentHashMap<>();
+    
+    public String issue(UserPrincipal principal) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String ticket = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        tickets.put(ticket, new Ticket(principal, System.currentTimeMillis() + ticketTtlMs));
+        return ticket;
+    }
+    
+    // Single use: the ticket is gone once redeemed, whether or not it was still valid
+    public UserPrincipal redeem(String ticket) {
+        Ticket redeemed = tickets.remove(ticket);
+        if (redeemed == null || redeemed.expiresAt < System.currentTimeMillis()) {
+            return null;
+        }
+        return redeemed.principal;
+    }
+    
+    public long getTicketTtlMs() {
+        return ticketTtlMs;
+    }
+    
+    // Tickets that were issued but never used
+    @Scheduled(fixedDelay = 60000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        tickets.values().removeIf(ticket -> ticket.expiresAt < now);
+    }
+    
+    private static final class Ticket {
+        
+        private final UserPrincipal principal;
+        private final long expiresAt;
+        
+        Ticket(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.banking.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+// Lightweight principal rebuilt from verified JWT claims, so authenticated
+// requests never need to load the User entity
+public class UserPrincipal implements UserDetails {
+    
+    private final Long id;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final Date issuedAt;
+    
+    public UserPrincipal(Long id, String username, List<GrantedAuthority> authorities, Date issuedAt) {
+        this.id = id;
+        this.username = username;
+        this.authorities = authorities;
+        this.issuedAt = issuedAt;
+    }
+    
+    public Long getId() { return id; }
+    
+    public Date getIssuedAt() { return issuedAt; }
+    
+    @Override
+    public String getUsername() { return username; }
+    
+    @Override
+    public String getPassword() { return null; }
+    
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
+    
+    @Override
+    public boolean isAccountNonExpired() { return true; }
+    
+    @Override
+    public boolean isAccountNonLocked() { return true; }
+    
+    @Override
+    public boolean isCredentialsNonExpired() { return true; }
+    
+    @Override
+    public boolean isEnabled() { return true; }
+}
@@ -0,0 +1,73 @@
+package com.banking.security;
+
+import com.banking.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Component
+public class UserStatusCache {
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${jwt.user-status-ttl-ms:30000}")
+    private long userStatusTtlMs;
+    
+    @Value("${jwt.expiration}")
+    private long jwtExpirationMs;
+    
+    private final ConcurrentMap<Long, Status> statuses = new ConcurrentHashMap<>();
+    
+    private final ConcurrentMap<Long, Long> revokedBefore = new ConcurrentHashMap<>();
+    
+    public boolean isActive(Long userId, Date issuedAt) {
+        long now = System.currentTimeMillis();
+        Long revokedAt = revokedBefore.get(userId);
+        if (revokedAt != null) {
+            if (isExpired(revokedAt, now)) {
+                revokedBefore.remove(userId, revokedAt);
+            } else if (issuedAt == null || issuedAt.getTime() < revokedAt) {
+                return false;
+            }
+        }
+        
+        Status status = statuses.get(userId);
+        if (status == null || now - status.checkedAt > userStatusTtlMs) {
+            boolean enabled = userRepository.findEnabledById(userId).orElse(false);
+            status = new Status(enabled, now);
+            statuses.put(userId, status);
+        }
+        return status.enabled;
+    }
+    
+    // Rejects every token issued before now; JWT iat has second precision
+    public void revokeTokens(Long userId) {
+        long now = System.currentTimeMillis();
+        revokedBefore.put(userId, now / 1000 * 1000);
+        statuses.remove(userId);
+        
+        // Entries of users who never came back are dropped here instead
+        revokedBefore.values().removeIf(revokedAt -> isExpired(revokedAt, now));
+    }
+    
+    // Once a token lifetime has passed, every token issued before the revocation has expired anyway
+    private boolean isExpired(long revokedAt, long now) {
+        return now - revokedAt > jwtExpirationMs;
+    }
+    
+    private static class Status {
+        
+        private final boolean enabled;
+        private final long checkedAt;
+        
+        Status(boolean enabled, long checkedAt) {
+            this.enabled = enabled;
+            this.checkedAt = checkedAt;
+        }
+    }
+}
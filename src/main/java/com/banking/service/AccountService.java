@@ -3,14 +3,25 @@ package com.banking.service;
 import com.banking.dto.AccountResponse;
 import com.banking.entity.Account;
 import com.banking.entity.AccountType;
+import com.banking.entity.Transaction;
+import com.banking.entity.TransactionStatus;
+import com.banking.entity.TransactionType;
 import com.banking.entity.User;
+import com.banking.event.AccountOpenedEvent;
+import com.banking.event.PostingEvent;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.monitoring.jfr.DepositEvent;
+import com.banking.monitoring.jfr.WithdrawalEvent;
 import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
 import com.banking.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -26,9 +37,18 @@ public class AccountService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
     @Autowired
     private AuditService auditService;
     
+    @Autowired
+    private BalanceCache balanceCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public Account createAccount(Long userId, AccountType accountType) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -40,15 +60,15 @@ public class AccountService {
         auditService.logAction(user.getUsername(), "ACCOUNT_CREATED", "Account", 
                               savedAccount.getId().toString(), 
                               "Account created: " + accountNumber, null);
+        eventPublisher.publishEvent(new AccountOpenedEvent(savedAccount.getId(), accountType));
         
         return savedAccount;
     }
     
+    // The id comes from a verified token, so the user row itself is not loaded
+    @Transactional(readOnly = true)
     public List<AccountResponse> getUserAccounts(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<Account> accounts = accountRepository.findByUserAndActiveTrue(user);
+        List<Account> accounts = accountRepository.findByUserIdAndActiveTrue(userId);
         return accounts.stream()
                 .map(this::convertToAccountResponse)
                 .collect(Collectors.toList());
@@ -58,7 +78,27 @@ public class AccountService {
         return accountRepository.findByAccountNumber(accountNumber);
     }
     
-    public AccountResponse getAccountBalance(String accountNumber, String username) {
+    public Account getOwnedAccount(String accountNumber, String username) {
+        Account account = accountRepository.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        
+        if (!account.getUser().getUsername().equals(username)) {
+            throw new RuntimeException("Access denied");
+        }
+        
+        return account;
+    }
+    
+    public AccountResponse getAccountBalance(String accountNumber, Long userId, String username) {
+        // Served from the write-through cache without touching the database
+        BalanceCache.Entry cached = balanceCache.get(accountNumber).orElse(null);
+        if (cached != null) {
+            if (!cached.getOwnerId().equals(userId)) {
+                throw new RuntimeException("Access denied");
+            }
+            return cached.getAccount();
+        }
+        
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         
@@ -71,10 +111,24 @@ public class AccountService {
                               account.getId().toString(), 
                               "Balance inquiry for account: " + accountNumber, null);
         
+        balanceCache.put(account);
         return convertToAccountResponse(account);
     }
     
     public Account depositFunds(String accountNumber, BigDecimal amount, String username) {
+        DepositEvent event = new DepositEvent();
+        event.begin();
+        try {
+            Account account = deposit(accountNumber, amount, username);
+            event.finishOnCompletion(accountNumber, amount, null);
+            return account;
+        } catch (RuntimeException e) {
+            event.finishOnCompletion(accountNumber, amount, e);
+            throw e;
+        }
+    }
+    
+    private Account deposit(String accountNumber, BigDecimal amount, String username) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         
@@ -84,15 +138,31 @@ public class AccountService {
         
         account.setBalance(account.getBalance().add(amount));
         Account savedAccount = accountRepository.save(account);
+        balanceCache.put(savedAccount);
+        Transaction transaction = recordPosting(null, savedAccount, amount, TransactionType.DEPOSIT, "Deposit");
         
         auditService.logAction(username, "DEPOSIT", "Account", 
                               account.getId().toString(), 
                               "Deposited " + amount + " to account: " + accountNumber, null);
+        eventPublisher.publishEvent(new PostingEvent(transaction));
         
         return savedAccount;
     }
     
     public Account withdrawFunds(String accountNumber, BigDecimal amount, String username) {
+        WithdrawalEvent event = new WithdrawalEvent();
+        event.begin();
+        try {
+            Account account = withdraw(accountNumber, amount, username);
+            event.finishOnCompletion(accountNumber, amount, null);
+            return account;
+        } catch (RuntimeException e) {
+            event.finishOnCompletion(accountNumber, amount, e);
+            throw e;
+        }
+    }
+    
+    private Account withdraw(String accountNumber, BigDecimal amount, String username) {
         Account account = accountRepository.findByAccountNumber(accountNumber)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
         
@@ -101,19 +171,32 @@ public class AccountService {
         }
         
         if (account.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient funds");
+            throw new InsufficientFundsException("Insufficient funds");
         }
         
         account.setBalance(account.getBalance().subtract(amount));
         Account savedAccount = accountRepository.save(account);
+        balanceCache.put(savedAccount);
+        Transaction transaction = recordPosting(savedAccount, null, amount, TransactionType.WITHDRAWAL, "Withdrawal");
         
         auditService.logAction(username, "WITHDRAWAL", "Account", 
                               account.getId().toString(), 
                               "Withdrew " + amount + " from account: " + accountNumber, null);
+        eventPublisher.publishEvent(new PostingEvent(transaction));
         
         return savedAccount;
     }
     
+    // Deposits and withdrawals are postings like transfers, so history, analytics and
+    // reconciliation all see every balance change
+    private Transaction recordPosting(Account fromAccount, Account toAccount, BigDecimal amount,
+                                      TransactionType type, String description) {
+        Transaction transaction = new Transaction(fromAccount, toAccount, amount, type, description);
+        transaction.setStatus(TransactionStatus.COMPLETED);
+        transaction.setProcessedDate(LocalDateTime.now());
+        return transactionRepository.save(transaction);
+    }
+    
     private String generateAccountNumber() {
         String accountNumber;
         do {
@@ -124,7 +207,7 @@ public class AccountService {
     }
     
     private AccountResponse convertToAccountResponse(Account account) {
-        return new AccountResponse(
+        AccountResponse response = new AccountResponse(
             account.getId(),
             account.getAccountNumber(),
             account.getAccountType(),
@@ -132,5 +215,7 @@ public class AccountService {
             account.getCreatedAt(),
             account.isActive()
         );
+        response.setVersion(account.getVersion());
+        return response;
     }
 }
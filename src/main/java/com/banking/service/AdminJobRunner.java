@@ -0,0 +1,68 @@
+package com.banking.service;
+
+import com.banking.dto.JobRun;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs the bulk jobs started from the admin API on their own threads rather than the common
+// pool, which parallel streams and other async work share, and keeps the outcome of each
+// job's latest run so a failure is visible after the 202 has gone back to the caller
+@Service
+public class AdminJobRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(AdminJobRunner.class);
+    
+    @Value("${admin.job-threads:4}")
+    private int threads;
+    
+    private ExecutorService executor;
+    
+    private final ConcurrentMap<String, JobRun> latestRuns = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "admin-job-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    public void submit(String job, Runnable task) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        latestRuns.put(job, new JobRun(job, "RUNNING", startedAt, null, null));
+        CompletableFuture.runAsync(task, executor).whenComplete((result, failure) -> {
+            if (failure == null) {
+                latestRuns.put(job, new JobRun(job, "COMPLETED", startedAt, LocalDateTime.now(), null));
+                return;
+            }
+            Throwable cause = failure.getCause() != null ? failure.getCause() : failure;
+            logger.error("Admin job {} failed", job, cause);
+            latestRuns.put(job, new JobRun(job, "FAILED", startedAt, LocalDateTime.now(), cause.getMessage()));
+        });
+    }
+    
+    public List<JobRun> getLatestRuns() {
+        return new ArrayList<>(latestRuns.values());
+    }
+}
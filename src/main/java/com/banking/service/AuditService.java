@@ -1,6 +1,7 @@
 package com.banking.service;
 
 import com.banking.entity.AuditLog;
+import com.banking.monitoring.jfr.AuditWriteEvent;
 import com.banking.repository.AuditLogRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -20,8 +21,16 @@ public class AuditService {
     
     public void logAction(String username, String action, String entityType, String entityId, 
                          String details, String ipAddress) {
-        AuditLog auditLog = new AuditLog(username, action, entityType, entityId, details, ipAddress);
-        auditLogRepository.save(auditLog);
+        AuditWriteEvent event = new AuditWriteEvent();
+        event.begin();
+        try {
+            AuditLog auditLog = new AuditLog(username, action, entityType, entityId, details, ipAddress);
+            auditLogRepository.save(auditLog);
+            event.finish(action, entityType, null);
+        } catch (RuntimeException e) {
+            event.finish(action, entityType, e);
+            throw e;
+        }
     }
     
     public Page<AuditLog> getAuditLogs(Pageable pageable) {
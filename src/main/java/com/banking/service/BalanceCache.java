@@ -0,0 +1,123 @@
+package com.banking.service;
+
+import com.banking.dto.AccountResponse;
+import com.banking.entity.Account;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class BalanceCache {
+
+    // Bounds memory when many accounts are read once; past the cap new entries are not cached
+    // until expired ones are purged
+    @Value("${balance-cache.max-entries:100000}")
+    private int maxEntries;
+
+    // Bounds how long a balance changed outside the services that write through can be served
+    @Value("${balance-cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public Optional<Entry> get(String accountNumber) {
+        Entry entry = entries.get(accountNumber);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            entries.remove(accountNumber, entry);
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entry);
+    }
+
+    // Write-through: the entry is built from the entity after commit, once the
+    // flush has bumped the @Version, so a rolled back write never reaches the cache
+    public void put(Account account) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(account);
+                }
+            });
+        } else {
+            store(account);
+        }
+    }
+
+    public void evict(String accountNumber) {
+        entries.remove(accountNumber);
+    }
+
+    @Scheduled(fixedDelay = 10000)
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public static String eTagOf(AccountResponse account) {
+        return "\"" + account.getId() + "-" + account.getVersion() + "\"";
+    }
+
+    private void store(Account account) {
+        if (entries.size() >= maxEntries && !entries.containsKey(account.getAccountNumber())) {
+            purgeExpired();
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        Entry entry = new Entry(toResponse(account), account.getUser().getId(),
+                                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMs));
+        // Never let a slower reader overwrite a newer version written by a concurrent posting
+        entries.merge(account.getAccountNumber(), entry,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+    }
+
+    private AccountResponse toResponse(Account account) {
+        AccountResponse response = new AccountResponse(
+            account.getId(),
+            account.getAccountNumber(),
+            account.getAccountType(),
+            account.getBalance(),
+            account.getCreatedAt(),
+            account.isActive()
+        );
+        response.setVersion(account.getVersion());
+        return response;
+    }
+
+    public static class Entry {
+
+        private final AccountResponse account;
+        private final Long ownerId;
+        private final long expiresAtNanos;
+
+        Entry(AccountResponse account, Long ownerId, long expiresAtNanos) {
+            this.account = account;
+            this.ownerId = ownerId;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        public AccountResponse getAccount() { return account; }
+
+        public Long getOwnerId() { return ownerId; }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+
+        long version() {
+            return account.getVersion() != null ? account.getVersion() : -1L;
+        }
+    }
+}
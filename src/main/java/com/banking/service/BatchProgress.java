@@ -0,0 +1,79 @@
+package com.banking.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Live progress of one batch run, updated by the worker threads as chunks complete
+public class BatchProgress {
+    
+    private final String jobName;
+    private final String runKey;
+    private final int totalChunks;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private final long startNanos = System.nanoTime();
+    
+    private final AtomicInteger chunksDone = new AtomicInteger();
+    private final AtomicInteger chunksFailed = new AtomicInteger();
+    private final LongAdder itemsProcessed = new LongAdder();
+    private volatile LocalDateTime finishedAt;
+    
+    public BatchProgress(String jobName, String runKey, int totalChunks) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.totalChunks = totalChunks;
+    }
+    
+    public void chunkDone(int items) {
+        itemsProcessed.add(items);
+        chunksDone.incrementAndGet();
+    }
+    
+    public void chunkFailed() {
+        chunksFailed.incrementAndGet();
+    }
+    
+    public void finish() {
+        finishedAt = LocalDateTime.now();
+    }
+    
+    public String getJobName() { return jobName; }
+    
+    public String getRunKey() { return runKey; }
+    
+    public int getTotalChunks() { return totalChunks; }
+    
+    public int getChunksDone() { return chunksDone.get(); }
+    
+    public int getChunksFailed() { return chunksFailed.get(); }
+    
+    public long getItemsProcessed() { return itemsProcessed.sum(); }
+    
+    public LocalDateTime getStartedAt() { return startedAt; }
+    
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    
+    public boolean isFinished() { return finishedAt != null; }
+    
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - startNanos) / 1_000_000_000.0;
+    }
+    
+    public double getItemsPerSecond() {
+        double elapsed = getElapsedSeconds();
+        return elapsed > 0 ? getItemsProcessed() / elapsed : 0;
+    }
+    
+    // Extrapolated from the chunks finished so far; -1 until there is something to go on
+    public double getEtaSeconds() {
+        int done = chunksDone.get();
+        if (isFinished()) {
+            return 0;
+        }
+        if (done == 0) {
+            return -1;
+        }
+        int remaining = totalChunks - done - chunksFailed.get();
+        return getElapsedSeconds() / done * remaining;
+    }
+}
@@ -0,0 +1,86 @@
+package com.banking.service;
+
+import com.banking.dto.AccountResponse;
+import com.banking.dto.DashboardResponse;
+import com.banking.dto.SpendingAnalyticsResponse;
+import com.banking.dto.TransactionResponse;
+import com.banking.monitoring.SqlStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Everything the dashboard's first render needs in one call. The parts do not depend on each
+// other, so each runs on its own connection and the response takes as long as the slowest one.
+@Service
+public class DashboardService {
+    
+    @Value("${dashboard.threads:8}")
+    private int threads;
+    
+    @Value("${dashboard.spending-months:6}")
+    private int spendingMonths;
+    
+    @Value("${dashboard.top-payees:5}")
+    private int topPayees;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private SpendingAnalyticsService spendingAnalyticsService;
+    
+    private ExecutorService executor;
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "dashboard-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    public DashboardResponse getDashboard(Long userId, int recentCount) {
+        // Propagated, so the request's SQL budget covers the queries run on the pool
+        CompletableFuture<List<TransactionResponse>> recent = CompletableFuture.supplyAsync(SqlStats.propagate(
+                () -> transactionService.getRecentTransactions(userId, recentCount)), executor);
+        CompletableFuture<SpendingAnalyticsResponse> spending = CompletableFuture.supplyAsync(SqlStats.propagate(
+                () -> spendingAnalyticsService.getSpending(userId, spendingMonths, topPayees)), executor);
+        
+        try {
+            // The request thread would only wait otherwise, so it reads the accounts itself
+            List<AccountResponse> accounts = accountService.getUserAccounts(userId);
+            BigDecimal totalBalance = accounts.stream()
+                    .map(AccountResponse::getBalance)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            return new DashboardResponse(accounts, totalBalance, recent.join(), spending.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } finally {
+            recent.cancel(false);
+            spending.cancel(false);
+        }
+    }
+}
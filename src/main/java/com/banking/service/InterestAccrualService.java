@@ -0,0 +1,295 @@
+package com.banking.service;
+
+import com.banking.entity.BatchCheckpoint;
+import com.banking.entity.TransactionType;
+import com.banking.event.PostingEvent;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.BatchCheckpointRepository;
+import com.banking.security.TokenBucket;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+// Daily interest on SAVINGS accounts. Accounts are split into id-range chunks processed in
+// parallel, each in its own short transaction: one read, one batched balance update, one
+// batched insert of INTEREST postings and the chunk's checkpoint, committed together so a
+// restarted run skips exactly the chunks that were paid. Accounts that already hold the day's
+// posting are never credited again, even when a chunk is redone over a different range. The
+// postings are then published like any other, so stats, analytics rollups and open event
+// streams see them.
+@Service
+public class InterestAccrualService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(InterestAccrualService.class);
+    
+    private static final String JOB_NAME = "INTEREST_ACCRUAL";
+    
+    private static final DateTimeFormatter REFERENCE_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    
+    private static final BigDecimal DAYS_PER_YEAR = BigDecimal.valueOf(365);
+    
+    // Locks the rows until the chunk commits, so the balance interest is computed from cannot
+    // change in between; a posting to one of these accounts waits for the chunk
+    private static final String SELECT_SAVINGS =
+            "SELECT id, account_number, user_id, balance FROM accounts " +
+            "WHERE id BETWEEN ? AND ? AND account_type = 'SAVINGS' AND active = TRUE AND balance > 0 FOR UPDATE";
+    
+    // Bumps the version, so a transfer that read the account before the accrual fails its
+    // optimistic check instead of undoing it
+    private static final String CREDIT_INTEREST =
+            "UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE id = ?";
+    
+    private static final String INSERT_POSTING =
+            "INSERT INTO transactions (transaction_type, to_account_id, amount, status, description, " +
+            "reference_number, transaction_date, processed_date) VALUES ('INTEREST', ?, ?, 'COMPLETED', ?, ?, ?, ?)";
+    
+    // The day's postings in a range: before crediting, the accounts already paid; after, the ids
+    // of the postings just inserted, for their events
+    private static final String SELECT_POSTING_IDS =
+            "SELECT id, to_account_id FROM transactions " +
+            "WHERE to_account_id BETWEEN ? AND ? AND transaction_type = 'INTEREST' AND reference_number LIKE ?";
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BatchCheckpointRepository batchCheckpointRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private BalanceCache balanceCache;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${interest.savings-annual-rate:0.02}")
+    private BigDecimal annualRate;
+    
+    @Value("${interest.chunk-size:500}")
+    private long chunkSize;
+    
+    @Value("${interest.threads:4}")
+    private int threads;
+    
+    @Value("${interest.max-chunks-per-second:20}")
+    private int maxChunksPerSecond;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    private volatile BatchProgress progress;
+    
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("interest.accrual.accounts", this, s -> s.progress != null ? s.progress.getItemsProcessed() : 0)
+                .description("Accounts credited by the current or last interest run")
+                .register(meterRegistry);
+        Gauge.builder("interest.accrual.throughput", this, s -> s.progress != null ? s.progress.getItemsPerSecond() : 0)
+                .description("Accounts credited per second")
+                .baseUnit("accounts/s")
+                .register(meterRegistry);
+        Gauge.builder("interest.accrual.eta", this, s -> s.progress != null ? s.progress.getEtaSeconds() : 0)
+                .description("Estimated seconds until the current run finishes")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    public BatchProgress getProgress() {
+        return progress;
+    }
+    
+    @Scheduled(cron = "${interest.cron:0 30 1 * * *}")
+    public void accrueYesterday() {
+        accrue(LocalDate.now().minusDays(1));
+    }
+    
+    public void accrue(LocalDate day) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Interest accrual is already running");
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Long minId = accountRepository.findMinId();
+            Long maxId = accountRepository.findMaxId();
+            if (minId == null) {
+                return;
+            }
+            
+            String runKey = day.toString();
+            Set<String> completed = batchCheckpointRepository.findCompleted(JOB_NAME, runKey).stream()
+                    .map(BatchCheckpoint::getRange)
+                    .collect(Collectors.toSet());
+            
+            // Caps the chunk rate across all workers, so the batch leaves room for daytime traffic
+            TokenBucket chunkRate = maxChunksPerSecond > 0
+                    ? new TokenBucket(threads, 1_000_000_000L / maxChunksPerSecond, System.nanoTime())
+                    : null;
+            
+            List<Callable<Void>> chunks = new ArrayList<>();
+            for (long start = minId; start <= maxId; start += chunkSize) {
+                long chunkStart = start;
+                long chunkEnd = Math.min(start + chunkSize - 1, maxId);
+                if (completed.contains(BatchCheckpoint.range(chunkStart, chunkEnd))) {
+                    continue;
+                }
+                chunks.add(() -> {
+                    if (chunkRate != null) {
+                        long wait;
+                        while ((wait = chunkRate.tryConsume(System.nanoTime())) > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+                    progress.chunkDone(accrueChunk(day, runKey, chunkStart, chunkEnd));
+                    return null;
+                });
+            }
+            
+            BatchProgress run = new BatchProgress(JOB_NAME, runKey, chunks.size());
+            progress = run;
+            logger.info("Accruing interest for {}: {} chunks to do, {} already checkpointed",
+                        runKey, chunks.size(), completed.size());
+            
+            for (Future<Void> result : pool.invokeAll(chunks)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // Rolled back without a checkpoint, so the next run retries it
+                    run.chunkFailed();
+                    logger.error("Interest chunk failed: {}", e.getCause().getMessage());
+                }
+            }
+            
+            run.finish();
+            logger.info("Interest for {} credited to {} accounts in {}s ({} accounts/s, {} chunks failed)",
+                        runKey, run.getItemsProcessed(), Math.round(run.getElapsedSeconds()),
+                        Math.round(run.getItemsPerSecond()), run.getChunksFailed());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+    
+    private int accrueChunk(LocalDate day, String runKey, long startId, long endId) {
+        List<Credit> credits = new ArrayList<>();
+        LocalDateTime postedAt = LocalDateTime.now();
+        Timestamp postedAtTimestamp = Timestamp.valueOf(postedAt);
+        String description = "Interest for " + day;
+        String referencePrefix = "INT" + REFERENCE_DATE.format(day) + "-";
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            Set<Long> paid = new HashSet<>();
+            jdbcTemplate.query(SELECT_POSTING_IDS, rs -> {
+                paid.add(rs.getLong("to_account_id"));
+            }, startId, endId, referencePrefix + "%");
+            
+            jdbcTemplate.query(SELECT_SAVINGS, rs -> {
+                if (paid.contains(rs.getLong("id"))) {
+                    return;
+                }
+                BigDecimal balance = rs.getBigDecimal("balance");
+                BigDecimal interest = dailyInterest(balance);
+                if (interest.signum() > 0) {
+                    credits.add(new Credit(rs.getLong("id"), rs.getString("account_number"), rs.getLong("user_id"),
+                                           interest, balance.add(interest)));
+                }
+            }, startId, endId);
+            
+            if (!credits.isEmpty()) {
+                List<Object[]> updates = new ArrayList<>(credits.size());
+                List<Object[]> postings = new ArrayList<>(credits.size());
+                for (Credit credit : credits) {
+                    updates.add(new Object[] {credit.interest, credit.accountId});
+                    postings.add(new Object[] {credit.accountId, credit.interest, description,
+                                               referencePrefix + credit.accountId, postedAtTimestamp, postedAtTimestamp});
+                }
+                jdbcTemplate.batchUpdate(CREDIT_INTEREST, updates);
+                jdbcTemplate.batchUpdate(INSERT_POSTING, postings);
+                
+                Map<Long, Long> postingIds = new HashMap<>();
+                jdbcTemplate.query(SELECT_POSTING_IDS, rs -> {
+                    postingIds.put(rs.getLong("to_account_id"), rs.getLong("id"));
+                }, startId, endId, referencePrefix + "%");
+                credits.forEach(credit -> credit.transactionId = postingIds.get(credit.accountId));
+            }
+            batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, runKey, startId, endId));
+        });
+        
+        // Committed: cached balances of the credited accounts are now stale, and the postings
+        // can be announced
+        for (Credit credit : credits) {
+            balanceCache.evict(credit.accountNumber);
+            eventPublisher.publishEvent(new PostingEvent(credit.transactionId, TransactionType.INTEREST, credit.interest,
+                    credit.accountId, credit.accountNumber, credit.userId, credit.newBalance, postedAt));
+        }
+        return credits.size();
+    }
+    
+    private BigDecimal dailyInterest(BigDecimal balance) {
+        return balance.multiply(annualRate).divide(DAYS_PER_YEAR, 2, RoundingMode.HALF_EVEN);
+    }
+    
+    private static class Credit {
+        
+        private final long accountId;
+        private final String accountNumber;
+        private final long userId;
+        private final BigDecimal interest;
+        private final BigDecimal newBalance;
+        private Long transactionId;
+        
+        Credit(long accountId, String accountNumber, long userId, BigDecimal interest, BigDecimal newBalance) {
+            this.accountId = accountId;
+            this.accountNumber = accountNumber;
+            this.userId = userId;
+            this.interest = interest;
+            this.newBalance = newBalance;
+        }
+    }
+}
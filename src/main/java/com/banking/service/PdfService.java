@@ -2,22 +2,20 @@ package com.banking.service;
 
 import com.banking.dto.TransactionResponse;
 import com.banking.entity.Account;
-import com.itextpdf.kernel.pdf.PdfDocument;
-import com.itextpdf.kernel.pdf.PdfWriter;
-import com.itextpdf.layout.Document;
-import com.itextpdf.layout.element.Cell;
-import com.itextpdf.layout.element.Paragraph;
-import com.itextpdf.layout.element.Table;
-import com.itextpdf.layout.properties.TextAlignment;
-import com.itextpdf.layout.properties.UnitValue;
+import com.banking.repository.TransactionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.time.YearMonth;
+import java.util.stream.Stream;
 
+// Lazy along with the renderer: nothing PDF related is needed until the first statement
+@Lazy
 @Service
 public class PdfService {
     
@@ -25,104 +23,54 @@ public class PdfService {
     private AccountService accountService;
     
     @Autowired
-    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
     
-    public byte[] generateAccountStatement(String accountNumber, String username, 
-                                         LocalDateTime startDate, LocalDateTime endDate) {
+    @Autowired
+    private StatementRenderer statementRenderer;
+    
+    // Checked before streaming starts, while an error can still become a 400 response
+    @Transactional(readOnly = true)
+    public Account verifyStatementAccess(String accountNumber, String username) {
+        return accountService.getOwnedAccount(accountNumber, username);
+    }
+    
+    // Any period, both ends inclusive, stamped with the time it was generated
+    @Transactional(readOnly = true)
+    public void writeAccountStatement(String accountNumber, LocalDateTime startDate, LocalDateTime endDate,
+                                      OutputStream out) {
         try {
             Account account = accountService.findByAccountNumber(accountNumber)
                     .orElseThrow(() -> new RuntimeException("Account not found"));
+            BigDecimal closingBalance = transactionRepository.balanceAt(account.getId(), endDate);
             
-            // Verify account belongs to user
-            if (!account.getUser().getUsername().equals(username)) {
-                throw new RuntimeException("Access denied");
+            try (Stream<TransactionResponse> transactions = transactionRepository
+                    .streamByAccountIdAndDateRange(account.getId(), startDate, endDate)) {
+                statementRenderer.render(account, startDate.toLocalDate(), endDate.toLocalDate(), closingBalance,
+                                         LocalDateTime.now(), transactions.iterator(), out);
             }
             
-            List<TransactionResponse> transactions = transactionService
-                    .getAccountTransactionsByDateRange(accountNumber, username, startDate, endDate);
-            
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDoc = new PdfDocument(writer);
-            Document document = new Document(pdfDoc);
-            
-            // Header
-            document.add(new Paragraph("ONLINE BANKING SYSTEM")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setFontSize(20)
-                    .setBold());
-            
-            document.add(new Paragraph("Account Statement")
-                    .setTextAlignment(TextAlignment.CENTER)
-                    .setFontSize(16)
-                    .setBold());
-            
-            // Account Information
-            document.add(new Paragraph("\n"));
-            document.add(new Paragraph("Account Holder: " + account.getUser().getFirstName() + 
-                                     " " + account.getUser().getLastName()));
-            document.add(new Paragraph("Account Number: " + account.getAccountNumber()));
-            document.add(new Paragraph("Account Type: " + account.getAccountType()));
-            document.add(new Paragraph("Current Balance: $" + account.getBalance()));
-            document.add(new Paragraph("Statement Period: " + 
-                                     startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd")) + 
-                                     " to " + 
-                                     endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"))));
-            
-            // Transaction Table
-            document.add(new Paragraph("\nTransaction History:").setBold());
+        } catch (Exception e) {
+            throw new RuntimeException("Error generating PDF statement: " + e.getMessage());
+        }
+    }
+    
+    // A closed calendar month, [first day, first day of the next month). Nothing in it depends on
+    // when it is rendered, so the batch and an on-demand request produce the same document.
+    @Transactional(readOnly = true)
+    public void writeMonthlyStatement(String accountNumber, YearMonth month, OutputStream out) {
+        try {
+            Account account = accountService.findByAccountNumber(accountNumber)
+                    .orElseThrow(() -> new RuntimeException("Account not found"));
+            LocalDateTime startDate = month.atDay(1).atStartOfDay();
+            LocalDateTime endDate = month.plusMonths(1).atDay(1).atStartOfDay();
+            BigDecimal closingBalance = transactionRepository.balanceBefore(account.getId(), endDate);
             
-            if (transactions.isEmpty()) {
-                document.add(new Paragraph("No transactions found for the specified period."));
-            } else {
-                Table table = new Table(UnitValue.createPercentArray(new float[]{2, 2, 2, 2, 3, 2}));
-                table.setWidth(UnitValue.createPercentValue(100));
-                
-                // Table headers
-                table.addHeaderCell(new Cell().add(new Paragraph("Date").setBold()));
-                table.addHeaderCell(new Cell().add(new Paragraph("Type").setBold()));
-                table.addHeaderCell(new Cell().add(new Paragraph("From Account").setBold()));
-                table.addHeaderCell(new Cell().add(new Paragraph("To Account").setBold()));
-                table.addHeaderCell(new Cell().add(new Paragraph("Description").setBold()));
-                table.addHeaderCell(new Cell().add(new Paragraph("Amount").setBold()));
-                
-                // Table data
-                for (TransactionResponse transaction : transactions) {
-                    table.addCell(new Cell().add(new Paragraph(
-                            transaction.getTransactionDate().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))));
-                    table.addCell(new Cell().add(new Paragraph(transaction.getTransactionType().toString())));
-                    table.addCell(new Cell().add(new Paragraph(
-                            transaction.getFromAccountNumber() != null ? transaction.getFromAccountNumber() : "-")));
-                    table.addCell(new Cell().add(new Paragraph(
-                            transaction.getToAccountNumber() != null ? transaction.getToAccountNumber() : "-")));
-                    table.addCell(new Cell().add(new Paragraph(
-                            transaction.getDescription() != null ? transaction.getDescription() : "-")));
-                    
-                    // Color code amounts (red for outgoing, green for incoming)
-                    String amountText = "$" + transaction.getAmount().toString();
-                    if (transaction.getFromAccountNumber() != null && 
-                        transaction.getFromAccountNumber().equals(accountNumber)) {
-                        amountText = "-" + amountText;
-                    } else {
-                        amountText = "+" + amountText;
-                    }
-                    table.addCell(new Cell().add(new Paragraph(amountText)));
-                }
-                
-                document.add(table);
+            try (Stream<TransactionResponse> transactions = transactionRepository
+                    .streamByAccountIdAndPeriod(account.getId(), startDate, endDate)) {
+                statementRenderer.render(account, month.atDay(1), month.atEndOfMonth(), closingBalance,
+                                         null, transactions.iterator(), out);
             }
             
-            // Footer
-            document.add(new Paragraph("\n"));
-            document.add(new Paragraph("Generated on: " + 
-                                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
-                    .setTextAlignment(TextAlignment.RIGHT)
-                    .setFontSize(10));
-            
-            document.close();
-            
-            return baos.toByteArray();
-            
         } catch (Exception e) {
             throw new RuntimeException("Error generating PDF statement: " + e.getMessage());
         }
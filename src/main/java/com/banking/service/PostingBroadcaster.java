@@ -0,0 +1,254 @@
+package com.banking.service;
+
+import com.banking.dto.PostingNotification;
+import com.banking.event.PostingEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Fans committed postings out to the account holders' open event streams. Publishing only
+// enqueues; a small sender pool does the writes, so a slow client never holds up a posting.
+// A stream whose queue overflows is closed, and the client's EventSource reconnects.
+// A stream whose write stalls is closed too; Tomcat's write timeout (server.tomcat.connection-timeout)
+// bounds how long the stalled write itself can hold its sender thread.
+// Idle streams hold no thread, just the emitter and a small queue.
+@Component
+public class PostingBroadcaster {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostingBroadcaster.class);
+    
+    private static final Object HEARTBEAT = new Object();
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Value("${events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMs;
+    
+    @Value("${events.queue-capacity:32}")
+    private int queueCapacity;
+    
+    @Value("${events.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+    
+    @Value("${events.sender-threads:4}")
+    private int senderThreads;
+    
+    @Value("${events.send-timeout-ms:5000}")
+    private long sendTimeoutMs;
+    
+    private final ConcurrentMap<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    
+    private final AtomicInteger openStreams = new AtomicInteger();
+    
+    private ExecutorService sender;
+    
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("events.streams.open", openStreams, AtomicInteger::get)
+                .description("Open server-sent event streams")
+                .register(meterRegistry);
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(userStreams -> userStreams.forEach(Subscriber::close));
+        sender.shutdown();
+    }
+    
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        // Added under the map's per-key lock, so it cannot race with removing the user's last stream
+        subscribers.compute(userId, (id, streams) -> {
+            Set<Subscriber> userStreams = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            if (userStreams.size() >= maxStreamsPerUser) {
+                throw new RuntimeException("Too many open event streams");
+            }
+            userStreams.add(subscriber);
+            return userStreams;
+        });
+        openStreams.incrementAndGet();
+        
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> remove(subscriber));
+        
+        // Sent straight away so proxies pass the headers through and the client sees the stream open
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPosting(PostingEvent event) {
+        if (event.getFromUserId() != null) {
+            publish(event.getFromUserId(), new PostingNotification(event.getTransactionId(), event.getTransactionType(),
+                    event.getFromAccountNumber(), event.getToAccountNumber(), "OUT", event.getAmount(),
+                    event.getFromBalance(), event.getOccurredAt()));
+        }
+        if (event.getToUserId() != null) {
+            publish(event.getToUserId(), new PostingNotification(event.getTransactionId(), event.getTransactionType(),
+                    event.getToAccountNumber(), event.getFromAccountNumber(), "IN", event.getAmount(),
+                    event.getToBalance(), event.getOccurredAt()));
+        }
+    }
+    
+    // Keeps idle connections from being dropped by proxies and flushes out dead ones
+    @Scheduled(fixedDelayString = "${events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userStreams -> userStreams.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+    
+    // Evicts streams whose current write has been blocked for longer than the send timeout
+    @Scheduled(fixedDelay = 1000)
+    public void evictStalledStreams() {
+        long now = System.nanoTime();
+        subscribers.values().forEach(userStreams -> userStreams.forEach(subscriber -> subscriber.evictIfStalled(now)));
+    }
+    
+    private void publish(Long userId, PostingNotification notification) {
+        Set<Subscriber> userStreams = subscribers.get(userId);
+        if (userStreams != null) {
+            userStreams.forEach(subscriber -> subscriber.offer(notification));
+        }
+    }
+    
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, streams) -> {
+            if (streams.remove(subscriber)) {
+                openStreams.decrementAndGet();
+            }
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+    
+    private final class Subscriber {
+        
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // Start of the write in progress, 0 when none; guarded by this
+        private long sendStartedAt;
+        
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        void offer(Object message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                logger.debug("Closing event stream of user {}: client is not keeping up", userId);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+        
+        // Completing the emitter waits for an in-flight write, so it is left to the sender pool
+        void close() {
+            closed = true;
+            remove(this);
+            queue.clear();
+            sender.execute(emitter::complete);
+        }
+        
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+        
+        // At most one drain per subscriber at a time, so events keep their order
+        private void drain() {
+            try {
+                Object message;
+                while (!closed && (message = queue.poll()) != null) {
+                    send(message);
+                }
+            } catch (IOException | IllegalStateException e) {
+                closed = true;
+                remove(this);
+            } finally {
+                draining.set(false);
+            }
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+        
+        // Completing with an error ends the response once the stalled write returns or times out,
+        // so the client's EventSource sees the stream drop and reconnects
+        synchronized void evictIfStalled(long now) {
+            if (sendStartedAt == 0 || now - sendStartedAt < TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs)) {
+                return;
+            }
+            logger.debug("Closing event stream of user {}: write blocked for over {} ms", userId, sendTimeoutMs);
+            closed = true;
+            sendStartedAt = 0;
+            remove(this);
+            queue.clear();
+            sender.execute(() -> emitter.completeWithError(new IOException("Event stream write timed out")));
+        }
+        
+        private void send(Object message) throws IOException {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                sendStartedAt = System.nanoTime();
+            }
+            try {
+                write(message);
+            } finally {
+                synchronized (this) {
+                    sendStartedAt = 0;
+                }
+            }
+        }
+        
+        private void write(Object message) throws IOException {
+            if (message == HEARTBEAT) {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+                return;
+            }
+            PostingNotification notification = (PostingNotification) message;
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(notification.getTransactionId()))
+                    .name("posting")
+                    .data(notification));
+        }
+    }
+}
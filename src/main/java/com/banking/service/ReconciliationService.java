@@ -0,0 +1,211 @@
+package com.banking.service;
+
+import com.banking.dto.ReconciliationMismatch;
+import com.banking.dto.ReconciliationReport;
+import com.banking.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Proves every Account.balance equals the completed postings into it minus those out of it.
+// The id space is split recursively down to partitions that the database sums with GROUP BY,
+// so memory is bounded by the partition size rather than by the number of transactions.
+@Service
+public class ReconciliationService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ReconciliationService.class);
+    
+    private static final String SELECT_BALANCES =
+            "SELECT id, account_number, balance FROM accounts WHERE id BETWEEN ? AND ?";
+    
+    private static final String SUM_INFLOWS =
+            "SELECT to_account_id, SUM(amount) FROM transactions " +
+            "WHERE to_account_id BETWEEN ? AND ? AND status = 'COMPLETED' GROUP BY to_account_id";
+    
+    private static final String SUM_OUTFLOWS =
+            "SELECT from_account_id, SUM(amount) FROM transactions " +
+            "WHERE from_account_id BETWEEN ? AND ? AND status = 'COMPLETED' GROUP BY from_account_id";
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    @Value("${reconciliation.partition-size:5000}")
+    private long partitionSize;
+    
+    @Value("${reconciliation.threads:4}")
+    private int threads;
+    
+    @Value("${reconciliation.max-reported:1000}")
+    private int maxReported;
+    
+    private TransactionTemplate snapshotTemplate;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    private volatile ReconciliationReport latestReport;
+    
+    @PostConstruct
+    void init() {
+        // The three reads of a partition see one snapshot, so postings committed meanwhile
+        // cannot show up as a mismatch
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setReadOnly(true);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    public ReconciliationReport getLatestReport() {
+        return latestReport;
+    }
+    
+    @Scheduled(cron = "${reconciliation.cron:0 0 3 * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+    
+    public ReconciliationReport reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Reconciliation is already running");
+        }
+        
+        LocalDateTime startedAt = LocalDateTime.now();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Long minId = accountRepository.findMinId();
+            Long maxId = accountRepository.findMaxId();
+            Tally tally = minId == null ? new Tally() : pool.invoke(new PartitionTask(minId, maxId));
+            
+            ReconciliationReport report = new ReconciliationReport(startedAt, LocalDateTime.now(),
+                    tally.accounts, tally.mismatchCount, tally.failedPartitions, tally.mismatches);
+            latestReport = report;
+            logger.info("Reconciled {} accounts: {} mismatches, {} failed partitions",
+                        tally.accounts, tally.mismatchCount, tally.failedPartitions);
+            return report;
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+    
+    private Tally reconcilePartition(long startId, long endId) {
+        Tally tally = new Tally();
+        Map<Long, BigDecimal> expected = new HashMap<>();
+        List<ReconciliationMismatch> found = new ArrayList<>();
+        
+        snapshotTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(SUM_INFLOWS, rs -> {
+                expected.merge(rs.getLong(1), rs.getBigDecimal(2), BigDecimal::add);
+            }, startId, endId);
+            jdbcTemplate.query(SUM_OUTFLOWS, rs -> {
+                expected.merge(rs.getLong(1), rs.getBigDecimal(2).negate(), BigDecimal::add);
+            }, startId, endId);
+            jdbcTemplate.query(SELECT_BALANCES, rs -> {
+                tally.accounts++;
+                BigDecimal balance = rs.getBigDecimal("balance");
+                BigDecimal expectedBalance = expected.getOrDefault(rs.getLong("id"), BigDecimal.ZERO);
+                if (balance.compareTo(expectedBalance) != 0) {
+                    found.add(new ReconciliationMismatch(rs.getLong("id"), rs.getString("account_number"),
+                                                         balance, expectedBalance));
+                }
+            }, startId, endId);
+        });
+        
+        for (ReconciliationMismatch mismatch : found) {
+            auditService.logAction("system", "RECONCILIATION_MISMATCH", "Account",
+                                  mismatch.getAccountId().toString(),
+                                  "Balance " + mismatch.getBalance() + " but completed postings sum to " +
+                                  mismatch.getExpectedBalance() + " for account: " + mismatch.getAccountNumber(), null);
+            tally.addMismatch(mismatch, maxReported);
+        }
+        return tally;
+    }
+    
+    private class PartitionTask extends RecursiveTask<Tally> {
+        
+        private final long startId;
+        private final long endId;
+        
+        PartitionTask(long startId, long endId) {
+            this.startId = startId;
+            this.endId = endId;
+        }
+        
+        @Override
+        protected Tally compute() {
+            if (endId - startId < partitionSize) {
+                try {
+                    return reconcilePartition(startId, endId);
+                } catch (RuntimeException e) {
+                    logger.error("Reconciliation of accounts {}-{} failed: {}", startId, endId, e.getMessage());
+                    Tally failed = new Tally();
+                    failed.failedPartitions = 1;
+                    return failed;
+                }
+            }
+            
+            long middle = startId + (endId - startId) / 2;
+            PartitionTask left = new PartitionTask(startId, middle);
+            left.fork();
+            Tally right = new PartitionTask(middle + 1, endId).compute();
+            return left.join().merge(right, maxReported);
+        }
+    }
+    
+    private static class Tally {
+        
+        private long accounts;
+        private long mismatchCount;
+        private long failedPartitions;
+        private final List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        
+        void addMismatch(ReconciliationMismatch mismatch, int maxReported) {
+            mismatchCount++;
+            if (mismatches.size() < maxReported) {
+                mismatches.add(mismatch);
+            }
+        }
+        
+        Tally merge(Tally other, int maxReported) {
+            accounts += other.accounts;
+            mismatchCount += other.mismatchCount;
+            failedPartitions += other.failedPartitions;
+            for (ReconciliationMismatch mismatch : other.mismatches) {
+                if (mismatches.size() >= maxReported) {
+                    break;
+                }
+                mismatches.add(mismatch);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.banking.service;
+
+import com.banking.dto.MonthlySpending;
+import com.banking.dto.PayeeTotal;
+import com.banking.dto.PostingRow;
+import com.banking.dto.SpendingAnalyticsResponse;
+import com.banking.entity.Account;
+import com.banking.entity.AccountDailyRollup;
+import com.banking.entity.AccountPayeeRollup;
+import com.banking.event.PostingEvent;
+import com.banking.repository.AccountDailyRollupRepository;
+import com.banking.repository.AccountPayeeRollupRepository;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Spending by month and top payees, served from per-account daily rollups so the cost
+// depends on the window asked for, not on the length of the account's history
+@Service
+public class SpendingAnalyticsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(SpendingAnalyticsService.class);
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private AccountDailyRollupRepository dailyRollupRepository;
+    
+    @Autowired
+    private AccountPayeeRollupRepository payeeRollupRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${analytics.backfill.partition-size:1000}")
+    private long partitionSize;
+    
+    @Value("${analytics.backfill.threads:4}")
+    private int threads;
+    
+    private TransactionTemplate transactionTemplate;
+    
+    private final AtomicBoolean backfillRunning = new AtomicBoolean();
+    
+    // Highest transaction id the running backfill rebuilds from the table; postings above it are
+    // left to the listener. Null when no backfill is running.
+    private volatile Long backfillWatermark;
+    
+    @PostConstruct
+    void init() {
+        // Postings are applied after their own transaction has committed
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPosting(PostingEvent event) {
+        Long watermark = backfillWatermark;
+        if (watermark != null && event.getTransactionId() != null && event.getTransactionId() <= watermark) {
+            // Committed before the backfill started, so the rebuild counts it
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyPosting(event));
+        } catch (DataIntegrityViolationException e) {
+            // Another posting created the same rollup row first; it now exists, so add to it
+            transactionTemplate.executeWithoutResult(status -> applyPosting(event));
+        } catch (RuntimeException e) {
+            logger.error("Could not apply transaction {} to analytics rollups (a backfill repairs it): {}",
+                         event.getTransactionId(), e.getMessage());
+        }
+    }
+    
+    public SpendingAnalyticsResponse getSpending(Long userId, int months, int top) {
+        List<Account> accounts = accountRepository.findByUserId(userId);
+        YearMonth firstMonth = YearMonth.now().minusMonths(months - 1L);
+        
+        Map<YearMonth, MonthlySpending> byMonth = new TreeMap<>();
+        for (int i = 0; i < months; i++) {
+            YearMonth month = firstMonth.plusMonths(i);
+            byMonth.put(month, new MonthlySpending(month.toString(), BigDecimal.ZERO, BigDecimal.ZERO, 0));
+        }
+        if (accounts.isEmpty()) {
+            return new SpendingAnalyticsResponse(new ArrayList<>(byMonth.values()), new ArrayList<>());
+        }
+        
+        List<Long> accountIds = accounts.stream().map(Account::getId).collect(Collectors.toList());
+        List<String> accountNumbers = accounts.stream().map(Account::getAccountNumber).collect(Collectors.toList());
+        LocalDate since = firstMonth.atDay(1);
+        
+        for (AccountDailyRollup rollup : dailyRollupRepository.findByAccountIdInAndDayGreaterThanEqual(accountIds, since)) {
+            MonthlySpending month = byMonth.get(YearMonth.from(rollup.getDay()));
+            if (month != null) {
+                month.setInflow(month.getInflow().add(rollup.getInflow()));
+                month.setOutflow(month.getOutflow().add(rollup.getOutflow()));
+                month.setCount(month.getCount() + rollup.getTransactionCount());
+            }
+        }
+        
+        List<PayeeTotal> topPayees = payeeRollupRepository.findTopPayees(accountIds, since, accountNumbers,
+                                                                         PageRequest.of(0, top));
+        return new SpendingAnalyticsResponse(new ArrayList<>(byMonth.values()), topPayees);
+    }
+    
+    public boolean isBackfillRunning() {
+        return backfillRunning.get();
+    }
+    
+    // Rebuilds all rollups from the transactions table, in parallel partitions of account ids.
+    // Partitions own disjoint rollup rows, so they never contend with each other. The rebuild
+    // reads postings up to the highest transaction id at the start and the listener applies
+    // only those above it, so a posting made during the backfill is counted exactly once.
+    public void backfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            throw new RuntimeException("Analytics backfill is already running");
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Long minId = accountRepository.findMinId();
+            Long maxId = accountRepository.findMaxId();
+            if (minId == null) {
+                return;
+            }
+            Long maxTransactionId = transactionRepository.findMaxId();
+            long watermark = maxTransactionId != null ? maxTransactionId : 0;
+            backfillWatermark = watermark;
+            
+            List<Callable<Void>> partitions = new ArrayList<>();
+            for (long start = minId; start <= maxId; start += partitionSize) {
+                long partitionStart = start;
+                long partitionEnd = Math.min(start + partitionSize - 1, maxId);
+                partitions.add(() -> {
+                    transactionTemplate.executeWithoutResult(status -> rebuildPartition(partitionStart, partitionEnd, watermark));
+                    return null;
+                });
+            }
+            
+            logger.info("Rebuilding analytics rollups in {} partitions up to transaction {}", partitions.size(), watermark);
+            int failed = 0;
+            for (Future<Void> result : pool.invokeAll(partitions)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    logger.error("Analytics partition failed: {}", e.getCause().getMessage());
+                }
+            }
+            logger.info("Analytics rollups rebuilt, {} partitions failed", failed);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+            backfillWatermark = null;
+            backfillRunning.set(false);
+        }
+    }
+    
+    private void applyPosting(PostingEvent event) {
+        LocalDate day = event.getOccurredAt().toLocalDate();
+        BigDecimal amount = event.getAmount();
+        
+        if (event.getFromAccountId() != null) {
+            if (dailyRollupRepository.addPosting(event.getFromAccountId(), day, BigDecimal.ZERO, amount) == 0) {
+                AccountDailyRollup rollup = new AccountDailyRollup(event.getFromAccountId(), day);
+                rollup.addPosting(BigDecimal.ZERO, amount);
+                dailyRollupRepository.save(rollup);
+            }
+            String payee = event.getToAccountNumber();
+            if (payee != null && payeeRollupRepository.addPayment(event.getFromAccountId(), day, payee, amount) == 0) {
+                AccountPayeeRollup rollup = new AccountPayeeRollup(event.getFromAccountId(), day, payee);
+                rollup.addPayment(amount);
+                payeeRollupRepository.save(rollup);
+            }
+        }
+        
+        if (event.getToAccountId() != null
+                && dailyRollupRepository.addPosting(event.getToAccountId(), day, amount, BigDecimal.ZERO) == 0) {
+            AccountDailyRollup rollup = new AccountDailyRollup(event.getToAccountId(), day);
+            rollup.addPosting(amount, BigDecimal.ZERO);
+            dailyRollupRepository.save(rollup);
+        }
+    }
+    
+    private void rebuildPartition(long startId, long endId, long maxTransactionId) {
+        dailyRollupRepository.deleteByAccountIdRange(startId, endId);
+        payeeRollupRepository.deleteByAccountIdRange(startId, endId);
+        
+        // Memory is bounded by the partition's account-days, not by its number of postings
+        Map<Long, Map<LocalDate, AccountDailyRollup>> daily = new HashMap<>();
+        Map<Long, Map<LocalDate, Map<String, AccountPayeeRollup>>> payees = new HashMap<>();
+        
+        try (Stream<PostingRow> outflows = transactionRepository.streamOutflowsByAccountIdRange(startId, endId, maxTransactionId)) {
+            outflows.forEach(row -> {
+                LocalDate day = row.getTransactionDate().toLocalDate();
+                daily.computeIfAbsent(row.getAccountId(), id -> new HashMap<>())
+                     .computeIfAbsent(day, d -> new AccountDailyRollup(row.getAccountId(), d))
+                     .addPosting(BigDecimal.ZERO, row.getAmount());
+                if (row.getCounterparty() != null) {
+                    payees.computeIfAbsent(row.getAccountId(), id -> new HashMap<>())
+                          .computeIfAbsent(day, d -> new HashMap<>())
+                          .computeIfAbsent(row.getCounterparty(), p -> new AccountPayeeRollup(row.getAccountId(), day, p))
+                          .addPayment(row.getAmount());
+                }
+            });
+        }
+        
+        try (Stream<PostingRow> inflows = transactionRepository.streamInflowsByAccountIdRange(startId, endId, maxTransactionId)) {
+            inflows.forEach(row -> daily.computeIfAbsent(row.getAccountId(), id -> new HashMap<>())
+                    .computeIfAbsent(row.getTransactionDate().toLocalDate(), d -> new AccountDailyRollup(row.getAccountId(), d))
+                    .addPosting(row.getAmount(), BigDecimal.ZERO));
+        }
+        
+        for (Map<LocalDate, AccountDailyRollup> accountDays : daily.values()) {
+            dailyRollupRepository.saveAll(accountDays.values());
+        }
+        for (Map<LocalDate, Map<String, AccountPayeeRollup>> accountDays : payees.values()) {
+            for (Map<String, AccountPayeeRollup> dayPayees : accountDays.values()) {
+                payeeRollupRepository.saveAll(dayPayees.values());
+            }
+        }
+    }
+}
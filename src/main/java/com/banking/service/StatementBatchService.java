@@ -0,0 +1,135 @@
+package com.banking.service;
+
+import com.banking.entity.BatchCheckpoint;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.BatchCheckpointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Pre-renders last month's statements for every active account, so the month-end
+// download rush is served from disk instead of rendering each statement on demand
+@Service
+public class StatementBatchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatementBatchService.class);
+    
+    private static final String JOB_NAME = "MONTHLY_STATEMENTS";
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private BatchCheckpointRepository batchCheckpointRepository;
+    
+    @Autowired
+    @Lazy
+    private PdfService pdfService;
+    
+    @Autowired
+    private StatementCache statementCache;
+    
+    @Value("${statement.batch.partition-size:1000}")
+    private long partitionSize;
+    
+    @Value("${statement.batch.threads:4}")
+    private int threads;
+    
+    private final AtomicBoolean running = new AtomicBoolean();
+    
+    public boolean isRunning() {
+        return running.get();
+    }
+    
+    @Scheduled(cron = "${statement.batch.cron:0 0 2 1 * *}")
+    public void generatePreviousMonth() {
+        generateMonth(YearMonth.now().minusMonths(1));
+    }
+    
+    // Safe to call again after a crash: finished partitions are skipped via their checkpoint
+    public void generateMonth(YearMonth month) {
+        if (!running.compareAndSet(false, true)) {
+            throw new RuntimeException("Statement generation is already running");
+        }
+        
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            Long minId = accountRepository.findMinId();
+            Long maxId = accountRepository.findMaxId();
+            if (minId == null) {
+                return;
+            }
+            
+            String runKey = month.toString();
+            Set<String> completed = batchCheckpointRepository.findCompleted(JOB_NAME, runKey).stream()
+                    .map(BatchCheckpoint::getRange)
+                    .collect(Collectors.toSet());
+            AtomicInteger rendered = new AtomicInteger();
+            
+            List<Callable<Void>> partitions = new ArrayList<>();
+            for (long start = minId; start <= maxId; start += partitionSize) {
+                long partitionStart = start;
+                long partitionEnd = Math.min(start + partitionSize - 1, maxId);
+                if (completed.contains(BatchCheckpoint.range(partitionStart, partitionEnd))) {
+                    continue;
+                }
+                partitions.add(() -> {
+                    rendered.addAndGet(generatePartition(month, runKey, partitionStart, partitionEnd));
+                    return null;
+                });
+            }
+            
+            logger.info("Generating {} statements: {} partitions to do, {} already checkpointed",
+                        runKey, partitions.size(), completed.size());
+            
+            for (Future<Void> result : pool.invokeAll(partitions)) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    // The partition has no checkpoint, so the next run retries it
+                    logger.error("Statement partition failed: {}", e.getCause().getMessage());
+                }
+            }
+            
+            logger.info("Generated {} statements for {}", rendered.get(), runKey);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdown();
+            running.set(false);
+        }
+    }
+    
+    private int generatePartition(YearMonth month, String runKey, long startId, long endId) {
+        int rendered = 0;
+        
+        for (String accountNumber : accountRepository.findActiveAccountNumbersByIdRange(startId, endId)) {
+            // Statements written before an interrupted run are still valid
+            if (statementCache.find(accountNumber, month).isPresent()) {
+                continue;
+            }
+            statementCache.store(accountNumber, month,
+                    out -> pdfService.writeMonthlyStatement(accountNumber, month, out));
+            rendered++;
+        }
+        
+        batchCheckpointRepository.save(new BatchCheckpoint(JOB_NAME, runKey, startId, endId));
+        return rendered;
+    }
+}
@@ -0,0 +1,133 @@
+package com.banking.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Content-addressed store for rendered monthly statements: objects/<sha256>.pdf holds the bytes,
+// index/<account>/<yyyy-MM> names the object for a month
+@Component
+public class StatementCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+    
+    @Value("${statement.cache.dir:${java.io.tmpdir}/banking-statements}")
+    private String cacheDir;
+    
+    // The closed calendar month a requested range stands for, if any: from midnight on the 1st to
+    // either midnight on the next 1st or any time in the last second of the month's last day
+    public static Optional<YearMonth> closedMonthOf(LocalDateTime startDate, LocalDateTime endDate) {
+        if (startDate.getDayOfMonth() != 1 || !startDate.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            return Optional.empty();
+        }
+        YearMonth month = YearMonth.from(startDate);
+        LocalDateTime nextMonthStart = month.plusMonths(1).atDay(1).atStartOfDay();
+        boolean wholeMonth = endDate.equals(nextMonthStart)
+                || (endDate.isBefore(nextMonthStart) && !endDate.isBefore(nextMonthStart.minusSeconds(1)));
+        return wholeMonth && month.isBefore(YearMonth.now()) ? Optional.of(month) : Optional.empty();
+    }
+    
+    public Optional<Path> find(String accountNumber, YearMonth month) {
+        Path indexFile = indexFile(accountNumber, month);
+        if (!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        
+        try {
+            String hash = Files.readString(indexFile, StandardCharsets.US_ASCII).trim();
+            Path object = objectFile(hash);
+            return Files.isRegularFile(object) ? Optional.of(object) : Optional.empty();
+        } catch (IOException e) {
+            logger.warn("Unreadable statement cache entry {}: {}", indexFile, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
+    // FileChannel.transferTo hands the copy to the OS where the target allows it, instead of
+    // reading the file through a heap buffer
+    public void transferTo(Path object, OutputStream out) throws IOException {
+        try (FileChannel file = FileChannel.open(object, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = file.size();
+            long position = 0;
+            while (position < size) {
+                position += file.transferTo(position, size - position, target);
+            }
+        }
+    }
+    
+    public void store(String accountNumber, YearMonth month, Consumer<OutputStream> renderer) {
+        Path root = Paths.get(cacheDir);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(root.resolve("objects"));
+            tempFile = Files.createTempFile(root, "statement", ".tmp");
+            
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (OutputStream out = new DigestOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)), digest)) {
+                renderer.accept(out);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            
+            // Identical content is stored once; a concurrent writer of the same object is harmless
+            Path object = objectFile(hash);
+            if (Files.exists(object)) {
+                Files.delete(tempFile);
+            } else {
+                Files.move(tempFile, object, StandardCopyOption.ATOMIC_MOVE);
+            }
+            tempFile = null;
+            
+            Path indexFile = indexFile(accountNumber, month);
+            Files.createDirectories(indexFile.getParent());
+            Path indexTemp = Files.createTempFile(indexFile.getParent(), "index", ".tmp");
+            Files.writeString(indexTemp, hash, StandardCharsets.US_ASCII);
+            Files.move(indexTemp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error caching statement for account " + accountNumber, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Left for the next run to overwrite
+                }
+            }
+        }
+    }
+    
+    private Path objectFile(String hash) {
+        return Paths.get(cacheDir, "objects", hash + ".pdf");
+    }
+    
+    private Path indexFile(String accountNumber, YearMonth month) {
+        return Paths.get(cacheDir, "index", accountNumber, month.toString());
+    }
+}
@@ -0,0 +1,181 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.entity.Account;
+import com.banking.monitoring.jfr.StatementRenderEvent;
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDate;
+import com.itextpdf.kernel.pdf.PdfDictionary;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
+import com.itextpdf.kernel.pdf.PdfString;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.GregorianCalendar;
+import java.util.Iterator;
+
+// Statement layout with everything that does not depend on the rows built once: the font
+// program, styles, column layout and formatters. Only PdfFont is per document, as iText binds
+// it to the document it is first used in.
+@Lazy
+@Component
+public class StatementRenderer {
+    
+    // Rows rendered between table flushes; flushed rows are written out and released
+    private static final int FLUSH_EVERY_ROWS = 100;
+    
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter ROW_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter GENERATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    
+    private static final float[] COLUMN_WIDTHS = {2, 2, 2, 2, 3, 2};
+    private static final String[] COLUMN_HEADERS = {"Date", "Type", "From Account", "To Account", "Description", "Amount"};
+    
+    private static final FontProgram FONT_PROGRAM = loadFontProgram();
+    
+    private static final Style TITLE_STYLE = new Style().setTextAlignment(TextAlignment.CENTER).setFontSize(20).setBold();
+    private static final Style SUBTITLE_STYLE = new Style().setTextAlignment(TextAlignment.CENTER).setFontSize(16).setBold();
+    private static final Style BOLD_STYLE = new Style().setBold();
+    private static final Style FOOTER_STYLE = new Style().setTextAlignment(TextAlignment.RIGHT).setFontSize(10);
+    
+    // Without generatedAt the output is reproducible: no footer timestamp, and document dates and
+    // ids derived from the period, so the same statement always produces the same bytes
+    public void render(Account account, LocalDate firstDay, LocalDate lastDay, BigDecimal closingBalance,
+                       LocalDateTime generatedAt, Iterator<TransactionResponse> rows, OutputStream out) {
+        StatementRenderEvent event = new StatementRenderEvent();
+        event.begin();
+        try {
+            int rowCount = renderDocument(account, firstDay, lastDay, closingBalance, generatedAt, rows, out);
+            event.finish(account.getAccountNumber(), rowCount, null);
+        } catch (RuntimeException e) {
+            event.finish(account.getAccountNumber(), 0, e);
+            throw e;
+        }
+    }
+    
+    // Returns the number of transaction rows written
+    private int renderDocument(Account account, LocalDate firstDay, LocalDate lastDay, BigDecimal closingBalance,
+                               LocalDateTime generatedAt, Iterator<TransactionResponse> rows, OutputStream out) {
+        WriterProperties properties = new WriterProperties();
+        if (generatedAt == null) {
+            PdfString documentId = new PdfString(("statement-" + account.getAccountNumber() + "-" + firstDay)
+                    .getBytes(StandardCharsets.US_ASCII)).setHexWriting(true);
+            properties.setInitialDocumentId(documentId).setModifiedDocumentId(documentId);
+        }
+        PdfWriter writer = new PdfWriter(out, properties);
+        writer.setCloseStream(false);
+        PdfDocument pdfDoc = new PdfDocument(writer);
+        if (generatedAt == null) {
+            PdfString periodClose = new PdfDate(GregorianCalendar.from(
+                    lastDay.plusDays(1).atStartOfDay(ZoneOffset.UTC))).getPdfObject();
+            PdfDictionary info = pdfDoc.getDocumentInfo().getPdfObject();
+            info.put(PdfName.CreationDate, periodClose);
+            info.put(PdfName.ModDate, periodClose);
+        }
+        Document document = new Document(pdfDoc);
+        document.setFont(PdfFontFactory.createFont(FONT_PROGRAM, PdfEncodings.WINANSI));
+        
+        // Header
+        document.add(new Paragraph("ONLINE BANKING SYSTEM").addStyle(TITLE_STYLE));
+        document.add(new Paragraph("Account Statement").addStyle(SUBTITLE_STYLE));
+        
+        // Account Information
+        document.add(new Paragraph("\n"));
+        document.add(new Paragraph("Account Holder: " + account.getUser().getFirstName() +
+                                 " " + account.getUser().getLastName()));
+        document.add(new Paragraph("Account Number: " + account.getAccountNumber()));
+        document.add(new Paragraph("Account Type: " + account.getAccountType()));
+        document.add(new Paragraph("Statement Period: " + PERIOD_FORMAT.format(firstDay) +
+                                 " to " + PERIOD_FORMAT.format(lastDay)));
+        document.add(new Paragraph("Closing Balance on " + PERIOD_FORMAT.format(lastDay) + ": $" +
+                                 closingBalance.toPlainString()));
+        
+        // Transaction Table
+        document.add(new Paragraph("\nTransaction History:").addStyle(BOLD_STYLE));
+        
+        int rowCount = 0;
+        if (!rows.hasNext()) {
+            document.add(new Paragraph("No transactions found for the specified period."));
+        } else {
+            // Large-table mode: rows are laid out and written as they arrive instead of kept in memory
+            Table table = new Table(UnitValue.createPercentArray(COLUMN_WIDTHS), true);
+            table.setWidth(UnitValue.createPercentValue(100));
+            for (String header : COLUMN_HEADERS) {
+                table.addHeaderCell(new Cell().add(new Paragraph(header).addStyle(BOLD_STYLE)));
+            }
+            document.add(table);
+            
+            String accountNumber = account.getAccountNumber();
+            StringBuilder amountText = new StringBuilder(24);
+            while (rows.hasNext()) {
+                TransactionResponse transaction = rows.next();
+                addCell(table, ROW_DATE_FORMAT.format(transaction.getTransactionDate()));
+                addCell(table, transaction.getTransactionType().name());
+                addCell(table, orDash(transaction.getFromAccountNumber()));
+                addCell(table, orDash(transaction.getToAccountNumber()));
+                addCell(table, orDash(transaction.getDescription()));
+                
+                // Sign amounts (minus for outgoing, plus for incoming)
+                amountText.setLength(0);
+                amountText.append(accountNumber.equals(transaction.getFromAccountNumber()) ? "-$" : "+$")
+                          .append(transaction.getAmount().toPlainString());
+                addCell(table, amountText.toString());
+                
+                if (++rowCount % FLUSH_EVERY_ROWS == 0) {
+                    table.flush();
+                }
+            }
+            
+            table.complete();
+        }
+        
+        // Footer
+        if (generatedAt != null) {
+            document.add(new Paragraph("\n"));
+            document.add(new Paragraph("Generated on: " + GENERATED_FORMAT.format(generatedAt))
+                    .addStyle(FOOTER_STYLE));
+        }
+        
+        document.close();
+        return rowCount;
+    }
+    
+    private static void addCell(Table table, String text) {
+        table.addCell(new Cell().add(new Paragraph(text)));
+    }
+    
+    private static String orDash(String value) {
+        return value != null ? value : "-";
+    }
+    
+    private static FontProgram loadFontProgram() {
+        try {
+            return FontProgramFactory.createFont(StandardFonts.HELVETICA);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load statement font", e);
+        }
+    }
+}
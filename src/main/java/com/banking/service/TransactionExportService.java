@@ -0,0 +1,249 @@
+package com.banking.service;
+
+import com.banking.dto.TransactionResponse;
+import com.banking.entity.Account;
+import com.banking.entity.AccountType;
+import com.banking.entity.TransactionStatus;
+import com.banking.repository.TransactionRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TransactionExportService {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private static final DateTimeFormatter OFX_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+    
+    private static final String CSV_HEADER =
+            "id,date,type,status,from_account,to_account,amount,description,reference\n";
+    
+    public enum Format {
+        CSV("text/csv", "csv"),
+        OFX("application/x-ofx", "ofx"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String getContentType() { return contentType; }
+        
+        public String getExtension() { return extension; }
+        
+        public static Format fromParameter(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported export format: " + value);
+            }
+        }
+    }
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private AuditService auditService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private ObjectWriter rowWriter;
+    
+    // Built once, without the per-value flush that would defeat the output buffer and without
+    // the default space between root values, as rows are separated by newlines instead
+    @PostConstruct
+    void init() {
+        rowWriter = objectMapper.writerFor(TransactionResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+    }
+    
+    // Checked before streaming starts, while an error can still become a 400 response
+    @Transactional
+    public Account verifyExportAccess(String accountNumber, String username, Format format) {
+        Account account = accountService.getOwnedAccount(accountNumber, username);
+        auditService.logAction(username, "TRANSACTION_EXPORT", "Account", accountNumber,
+                             "Exported transactions as " + format, null);
+        return account;
+    }
+    
+    // Rows go from the JDBC cursor through a fixed-size buffer into the response, so memory
+    // stays flat whatever the size of the history
+    @Transactional(readOnly = true)
+    public void export(String accountNumber, LocalDateTime startDate, LocalDateTime endDate,
+                       Format format, boolean gzip, OutputStream out) throws IOException {
+        Account account = accountService.findByAccountNumber(accountNumber)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(gzipOut != null ? gzipOut : out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        
+        try (Stream<TransactionResponse> transactions = transactionRepository
+                .streamByAccountIdAndDateRange(account.getId(), startDate, endDate)) {
+            Iterator<TransactionResponse> rows = transactions.iterator();
+            switch (format) {
+                case CSV -> writeCsv(rows, writer);
+                case OFX -> writeOfx(account, startDate, endDate, rows, writer);
+                case NDJSON -> writeNdjson(rows, writer);
+            }
+        }
+        
+        writer.flush();
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+    }
+    
+    private void writeCsv(Iterator<TransactionResponse> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        while (rows.hasNext()) {
+            TransactionResponse row = rows.next();
+            writer.write(String.valueOf(row.getId()));
+            writer.write(',');
+            writer.write(row.getTransactionDate().toString());
+            writer.write(',');
+            writer.write(row.getTransactionType().name());
+            writer.write(',');
+            writer.write(row.getStatus().name());
+            writer.write(',');
+            writeCsvField(writer, row.getFromAccountNumber());
+            writer.write(',');
+            writeCsvField(writer, row.getToAccountNumber());
+            writer.write(',');
+            writer.write(row.getAmount().toPlainString());
+            writer.write(',');
+            writeCsvField(writer, row.getDescription());
+            writer.write(',');
+            writeCsvField(writer, row.getReferenceNumber());
+            writer.write('\n');
+        }
+    }
+    
+    // RFC 4180: quote only fields that contain a separator, quote or line break
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    private void writeNdjson(Iterator<TransactionResponse> rows, Writer writer) throws IOException {
+        try (JsonGenerator generator = rowWriter.createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    
+    // OFX 2.x (XML) bank statement; only posted transactions belong in it
+    private void writeOfx(Account account, LocalDateTime startDate, LocalDateTime endDate,
+                          Iterator<TransactionResponse> rows, Writer writer) throws IOException {
+        String now = OFX_DATE_FORMAT.format(LocalDateTime.now());
+        String accountNumber = account.getAccountNumber();
+        
+        writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"no\"?>\n");
+        writer.write("<?OFX OFXHEADER=\"200\" VERSION=\"220\" SECURITY=\"NONE\" OLDFILEUID=\"NONE\" NEWFILEUID=\"NONE\"?>\n");
+        writer.write("<OFX>\n<SIGNONMSGSRSV1><SONRS><STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>");
+        writer.write("<DTSERVER>" + now + "</DTSERVER><LANGUAGE>ENG</LANGUAGE></SONRS></SIGNONMSGSRSV1>\n");
+        writer.write("<BANKMSGSRSV1><STMTTRNRS><TRNUID>0</TRNUID>");
+        writer.write("<STATUS><CODE>0</CODE><SEVERITY>INFO</SEVERITY></STATUS>\n<STMTRS><CURDEF>USD</CURDEF>\n");
+        writer.write("<BANKACCTFROM><BANKID>ONLINEBANKING</BANKID><ACCTID>");
+        writeXmlText(writer, accountNumber);
+        writer.write("</ACCTID><ACCTTYPE>" + (account.getAccountType() == AccountType.SAVINGS ? "SAVINGS" : "CHECKING"));
+        writer.write("</ACCTTYPE></BANKACCTFROM>\n");
+        writer.write("<BANKTRANLIST><DTSTART>" + OFX_DATE_FORMAT.format(startDate) + "</DTSTART>");
+        writer.write("<DTEND>" + OFX_DATE_FORMAT.format(endDate) + "</DTEND>\n");
+        
+        while (rows.hasNext()) {
+            TransactionResponse row = rows.next();
+            if (row.getStatus() != TransactionStatus.COMPLETED) {
+                continue;
+            }
+            boolean outgoing = accountNumber.equals(row.getFromAccountNumber());
+            String counterparty = outgoing ? row.getToAccountNumber() : row.getFromAccountNumber();
+            
+            writer.write("<STMTTRN><TRNTYPE>");
+            writer.write(outgoing ? "DEBIT" : "CREDIT");
+            writer.write("</TRNTYPE><DTPOSTED>");
+            writer.write(OFX_DATE_FORMAT.format(row.getProcessedDate() != null
+                    ? row.getProcessedDate() : row.getTransactionDate()));
+            writer.write("</DTPOSTED><TRNAMT>");
+            if (outgoing) {
+                writer.write('-');
+            }
+            writer.write(row.getAmount().toPlainString());
+            writer.write("</TRNAMT><FITID>");
+            writer.write(String.valueOf(row.getId()));
+            writer.write("</FITID>");
+            if (counterparty != null) {
+                writer.write("<NAME>");
+                writeXmlText(writer, counterparty);
+                writer.write("</NAME>");
+            }
+            if (row.getDescription() != null) {
+                writer.write("<MEMO>");
+                writeXmlText(writer, row.getDescription());
+                writer.write("</MEMO>");
+            }
+            writer.write("</STMTTRN>\n");
+        }
+        
+        writer.write("</BANKTRANLIST>\n<LEDGERBAL><BALAMT>" + account.getBalance().toPlainString() + "</BALAMT>");
+        writer.write("<DTASOF>" + now + "</DTASOF></LEDGERBAL>\n");
+        writer.write("</STMTRS></STMTTRNRS></BANKMSGSRSV1>\n</OFX>\n");
+    }
+    
+    private static void writeXmlText(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> writer.write("&lt;");
+                case '>' -> writer.write("&gt;");
+                case '&' -> writer.write("&amp;");
+                default -> writer.write(c);
+            }
+        }
+    }
+}
@@ -6,7 +6,9 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,8 +19,13 @@ import com.banking.entity.Account;
 import com.banking.entity.Transaction;
 import com.banking.entity.TransactionStatus;
 import com.banking.entity.TransactionType;
+import com.banking.event.PostingEvent;
+import com.banking.monitoring.jfr.FraudRuleEvent;
+import com.banking.monitoring.jfr.TransferEvent;
 import com.banking.repository.AccountRepository;
 import com.banking.repository.TransactionRepository;
+import com.banking.service.TransferMetrics.Rejection;
+import com.banking.service.TransferMetrics.Stage;
 
 @Service
 @Transactional
@@ -33,31 +40,63 @@ public class TransactionService {
     @Autowired
     private AuditService auditService;
     
+    @Autowired
+    private BalanceCache balanceCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TransferMetrics transferMetrics;
+    
     public TransactionResponse transferFunds(TransferRequest transferRequest, String username) {
+        TransferEvent event = new TransferEvent();
+        event.begin();
+        try {
+            TransactionResponse response = executeTransfer(transferRequest, username);
+            event.finishOnCompletion(transferRequest.getFromAccountNumber(), transferRequest.getToAccountNumber(),
+                                     transferRequest.getAmount(), null);
+            return response;
+        } catch (RuntimeException e) {
+            event.finishOnCompletion(transferRequest.getFromAccountNumber(), transferRequest.getToAccountNumber(),
+                                     transferRequest.getAmount(), e);
+            throw e;
+        }
+    }
+    
+    private TransactionResponse executeTransfer(TransferRequest transferRequest, String username) {
+        transferMetrics.startTransfer();
+        long stageStart = System.nanoTime();
+        
         Account fromAccount = accountRepository.findByAccountNumber(transferRequest.getFromAccountNumber())
-                .orElseThrow(() -> new RuntimeException("From account not found"));
+                .orElseThrow(() -> transferMetrics.reject(Rejection.ACCOUNT_NOT_FOUND, "From account not found"));
         
         Account toAccount = accountRepository.findByAccountNumber(transferRequest.getToAccountNumber())
-                .orElseThrow(() -> new RuntimeException("To account not found"));
+                .orElseThrow(() -> transferMetrics.reject(Rejection.ACCOUNT_NOT_FOUND, "To account not found"));
+        stageStart = transferMetrics.recordStage(Stage.ACCOUNT_LOAD, stageStart);
         
         // Verify the from account belongs to the user
         if (!fromAccount.getUser().getUsername().equals(username)) {
-            throw new RuntimeException("Access denied: You can only transfer from your own accounts");
+            throw transferMetrics.reject(Rejection.ACCESS_DENIED,
+                    "Access denied: You can only transfer from your own accounts");
         }
+        stageStart = transferMetrics.recordStage(Stage.OWNERSHIP_CHECK, stageStart);
         
         // Check if accounts are active
         if (!fromAccount.isActive() || !toAccount.isActive()) {
-            throw new RuntimeException("One or both accounts are inactive");
+            throw transferMetrics.reject(Rejection.ACCOUNT_INACTIVE, "One or both accounts are inactive");
         }
         
         // Check sufficient funds
         if (fromAccount.getBalance().compareTo(transferRequest.getAmount()) < 0) {
-            throw new RuntimeException("Insufficient funds");
+            throw transferMetrics.reject(Rejection.INSUFFICIENT_FUNDS, "Insufficient funds");
         }
         
         // Enhanced transfer validation and fraud checks
         validateTransferLimits(fromAccount, transferRequest.getAmount(), username);
+        stageStart = transferMetrics.recordStage(Stage.LIMIT_VALIDATION, stageStart);
         performFraudChecks(fromAccount, toAccount, transferRequest.getAmount(), username);
+        stageStart = System.nanoTime();
         
         // Create transaction
         Transaction transaction = new Transaction(
@@ -73,15 +112,19 @@ public class TransactionService {
             fromAccount.setBalance(fromAccount.getBalance().subtract(transferRequest.getAmount()));
             toAccount.setBalance(toAccount.getBalance().add(transferRequest.getAmount()));
             
-            // Save accounts
+            // Save accounts (the UPDATEs themselves are flushed in the commit stage)
             accountRepository.save(fromAccount);
             accountRepository.save(toAccount);
+            balanceCache.put(fromAccount);
+            balanceCache.put(toAccount);
+            stageStart = transferMetrics.recordStage(Stage.BALANCE_UPDATE, stageStart);
             
             // Mark transaction as completed
             transaction.setStatus(TransactionStatus.COMPLETED);
             transaction.setProcessedDate(LocalDateTime.now());
             
             Transaction savedTransaction = transactionRepository.save(transaction);
+            stageStart = transferMetrics.recordStage(Stage.TRANSACTION_SAVE, stageStart);
             
             // Log the transaction
             auditService.logAction(username, "FUND_TRANSFER", "Transaction", 
@@ -89,6 +132,8 @@ public class TransactionService {
                                   "Transferred " + transferRequest.getAmount() + 
                                   " from " + transferRequest.getFromAccountNumber() + 
                                   " to " + transferRequest.getToAccountNumber(), null);
+            transferMetrics.recordStage(Stage.AUDIT_WRITE, stageStart);
+            eventPublisher.publishEvent(new PostingEvent(savedTransaction));
             
             return convertToTransactionResponse(savedTransaction);
             
@@ -138,15 +183,21 @@ public class TransactionService {
         Page<Transaction> transactions = transactionRepository.findByUserId(userId, pageable);
         return transactions.map(this::convertToTransactionResponse);
     }
+    
+    @Transactional(readOnly = true)
+    public List<TransactionResponse> getRecentTransactions(Long userId, int limit) {
+        return transactionRepository.findRecentByUserId(userId, PageRequest.of(0, limit));
+    }
 
-    private void validateTransferLimits(Account fromAccount, BigDecimal amount, String username) {
+    // This and the fraud and conversion helpers below are package-private for the benchmarks in src/jmh
+    void validateTransferLimits(Account fromAccount, BigDecimal amount, String username) {
         // Daily transfer limit: $10,000
         BigDecimal dailyLimit = new BigDecimal("10000.00");
         if (amount.compareTo(dailyLimit) > 0) {
             auditService.logAction(username, "TRANSFER_LIMIT_EXCEEDED", "Transaction",
                                   fromAccount.getId().toString(),
                                   "Transfer amount " + amount + " exceeds daily limit of " + dailyLimit, null);
-            throw new RuntimeException("Transfer amount exceeds daily limit of $" + dailyLimit);
+            throw transferMetrics.reject(Rejection.DAILY_LIMIT, "Transfer amount exceeds daily limit of $" + dailyLimit);
         }
 
         // Single transaction limit: $5,000 for new accounts (less than 30 days old)
@@ -156,27 +207,33 @@ public class TransactionService {
                 auditService.logAction(username, "NEW_ACCOUNT_LIMIT_EXCEEDED", "Transaction",
                                       fromAccount.getId().toString(),
                                       "New account transfer limit exceeded", null);
-                throw new RuntimeException("New accounts are limited to $" + newAccountLimit + " per transaction");
+                throw transferMetrics.reject(Rejection.NEW_ACCOUNT_LIMIT,
+                        "New accounts are limited to $" + newAccountLimit + " per transaction");
             }
         }
 
         // Minimum transfer amount: $0.01
         BigDecimal minimumAmount = new BigDecimal("0.01");
         if (amount.compareTo(minimumAmount) < 0) {
-            throw new RuntimeException("Minimum transfer amount is $" + minimumAmount);
+            throw transferMetrics.reject(Rejection.BELOW_MINIMUM, "Minimum transfer amount is $" + minimumAmount);
         }
     }
 
-    private void performFraudChecks(Account fromAccount, Account toAccount, BigDecimal amount, String username) {
+    void performFraudChecks(Account fromAccount, Account toAccount, BigDecimal amount, String username) {
         // Check for suspicious patterns
 
+        String accountNumber = fromAccount.getAccountNumber();
+        
         // 1. Multiple large transactions in short time
+        long ruleStart = System.nanoTime();
+        FraudRuleEvent rule = FraudRuleEvent.start("hourly_velocity");
         LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
         List<Transaction> recentTransactions = transactionRepository
                 .findByAccountAndDateRange(fromAccount, oneHourAgo, LocalDateTime.now());
 
         BigDecimal totalRecentAmount = recentTransactions.stream()
                 .filter(t -> t.getStatus() == TransactionStatus.COMPLETED)
+                .filter(t -> t.getTransactionType() == TransactionType.TRANSFER)
                 .map(Transaction::getAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
@@ -185,36 +242,54 @@ public class TransactionService {
             auditService.logAction(username, "FRAUD_ALERT_HOURLY_LIMIT", "Transaction",
                                   fromAccount.getId().toString(),
                                   "Hourly transaction limit exceeded: " + totalRecentAmount.add(amount), null);
-            throw new RuntimeException("Hourly transaction limit exceeded. Please contact support.");
+            rule.finish(accountNumber, amount, "block");
+            throw transferMetrics.reject(Rejection.HOURLY_LIMIT, "Hourly transaction limit exceeded. Please contact support.");
         }
+        rule.finish(accountNumber, amount, "pass");
+        ruleStart = transferMetrics.recordStage(Stage.FRAUD_VELOCITY, ruleStart);
 
         // 2. Round number fraud detection (amounts ending in .00 over $1000)
+        rule = FraudRuleEvent.start("round_amount");
+        String verdict = "pass";
         if (amount.compareTo(new BigDecimal("1000.00")) > 0 &&
             amount.remainder(new BigDecimal("100")).compareTo(BigDecimal.ZERO) == 0) {
             auditService.logAction(username, "FRAUD_ALERT_ROUND_AMOUNT", "Transaction",
                                   fromAccount.getId().toString(),
                                   "Suspicious round amount: " + amount, null);
+            verdict = "flag";
         }
+        rule.finish(accountNumber, amount, verdict);
+        ruleStart = transferMetrics.recordStage(Stage.FRAUD_ROUND_AMOUNT, ruleStart);
 
         // 3. Self-transfer detection (same user different accounts)
+        rule = FraudRuleEvent.start("self_transfer");
+        verdict = "pass";
         if (fromAccount.getUser().getId().equals(toAccount.getUser().getId()) &&
             !fromAccount.getId().equals(toAccount.getId())) {
             // Allow but log for monitoring
             auditService.logAction(username, "SELF_TRANSFER", "Transaction",
                                   fromAccount.getId().toString(),
                                   "Self-transfer between accounts", null);
+            verdict = "flag";
         }
+        rule.finish(accountNumber, amount, verdict);
+        ruleStart = transferMetrics.recordStage(Stage.FRAUD_SELF_TRANSFER, ruleStart);
 
         // 4. Weekend large transaction alert
+        rule = FraudRuleEvent.start("weekend_large");
+        verdict = "pass";
         if (LocalDateTime.now().getDayOfWeek().getValue() >= 6 && // Saturday or Sunday
             amount.compareTo(new BigDecimal("5000.00")) > 0) {
             auditService.logAction(username, "WEEKEND_LARGE_TRANSACTION", "Transaction",
                                   fromAccount.getId().toString(),
                                   "Large weekend transaction: " + amount, null);
+            verdict = "flag";
         }
+        rule.finish(accountNumber, amount, verdict);
+        transferMetrics.recordStage(Stage.FRAUD_WEEKEND, ruleStart);
     }
 
-    private TransactionResponse convertToTransactionResponse(Transaction transaction) {
+    TransactionResponse convertToTransactionResponse(Transaction transaction) {
         TransactionResponse response = new TransactionResponse();
         response.setId(transaction.getId());
         response.setFromAccountNumber(transaction.getFromAccount() != null ? 
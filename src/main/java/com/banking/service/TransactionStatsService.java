@@ -0,0 +1,217 @@
+package com.banking.service;
+
+import com.banking.dto.StatsBucket;
+import com.banking.dto.StatsResponse;
+import com.banking.entity.StatsRollup;
+import com.banking.entity.TransactionType;
+import com.banking.event.AccountOpenedEvent;
+import com.banking.event.PostingEvent;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.StatsRollupRepository;
+import com.banking.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admin dashboard aggregates kept up to date from posting events instead of scanning the
+// transactions table: hourly count/amount buckets per type in LongAdders, periodically
+// flushed as deltas to the stats_rollups table
+@Service
+public class TransactionStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransactionStatsService.class);
+    
+    private static final int HOURLY_WINDOW = 24;
+    
+    @Autowired
+    private StatsRollupRepository statsRollupRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${stats.retention-hours:48}")
+    private int retentionHours;
+    
+    private final Map<TransactionType, ConcurrentMap<LocalDateTime, Bucket>> buckets =
+            new EnumMap<>(TransactionType.class);
+    
+    private final LongAdder activeAccounts = new LongAdder();
+    
+    private TransactionTemplate transactionTemplate;
+    
+    // Runs before the data initializer, so accounts it opens are counted by their events
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        for (TransactionType type : TransactionType.values()) {
+            buckets.put(type, new ConcurrentHashMap<>());
+        }
+        
+        activeAccounts.add(accountRepository.countByActiveTrue());
+        
+        // Resume from what earlier runs already flushed
+        LocalDateTime since = currentHour().minusHours(retentionHours);
+        for (StatsRollup rollup : statsRollupRepository.findByBucketStartGreaterThanEqual(since)) {
+            Bucket bucket = bucket(rollup.getTransactionType(), rollup.getBucketStart());
+            long cents = toCents(rollup.getTotalAmount());
+            bucket.count.add(rollup.getTransactionCount());
+            bucket.amountCents.add(cents);
+            bucket.flushedCount = rollup.getTransactionCount();
+            bucket.flushedCents = cents;
+        }
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPosting(PostingEvent event) {
+        Bucket bucket = bucket(event.getTransactionType(), event.getOccurredAt().truncatedTo(ChronoUnit.HOURS));
+        bucket.count.increment();
+        bucket.amountCents.add(toCents(event.getAmount()));
+    }
+    
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAccountOpened(AccountOpenedEvent event) {
+        activeAccounts.increment();
+    }
+    
+    // Rows written straight to the tables (the data generator) publish no events: re-counts the
+    // active accounts and adds the bulk-loaded postings of the retention window to the buckets,
+    // from where the next flush writes them to the rollups
+    public void backfill(String referencePrefix) {
+        activeAccounts.add(accountRepository.countByActiveTrue() - activeAccounts.sum());
+        
+        LocalDateTime since = currentHour().minusHours(retentionHours);
+        List<Object[]> postings = transactionRepository.findCompletedSinceByReferencePrefix(since, referencePrefix);
+        for (Object[] posting : postings) {
+            Bucket bucket = bucket((TransactionType) posting[0], ((LocalDateTime) posting[1]).truncatedTo(ChronoUnit.HOURS));
+            bucket.count.increment();
+            bucket.amountCents.add(toCents((BigDecimal) posting[2]));
+        }
+        logger.info("Stats backfilled: {} active accounts, {} postings since {}", activeAccounts.sum(),
+                    postings.size(), since);
+    }
+    
+    // Reads a fixed number of in-memory buckets, however many transactions there are
+    public StatsResponse getStats() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime currentHour = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime startOfDay = now.truncatedTo(ChronoUnit.DAYS);
+        
+        List<StatsBucket> today = new ArrayList<>();
+        List<StatsBucket> hourly = new ArrayList<>();
+        for (TransactionType type : TransactionType.values()) {
+            ConcurrentMap<LocalDateTime, Bucket> typeBuckets = buckets.get(type);
+            long todayCount = 0;
+            long todayCents = 0;
+            for (int i = HOURLY_WINDOW - 1; i >= 0; i--) {
+                LocalDateTime hour = currentHour.minusHours(i);
+                Bucket bucket = typeBuckets.get(hour);
+                long count = bucket != null ? bucket.count.sum() : 0;
+                long cents = bucket != null ? bucket.amountCents.sum() : 0;
+                hourly.add(new StatsBucket(type, hour, count, fromCents(cents)));
+                if (!hour.isBefore(startOfDay)) {
+                    todayCount += count;
+                    todayCents += cents;
+                }
+            }
+            today.add(new StatsBucket(type, startOfDay, todayCount, fromCents(todayCents)));
+        }
+        
+        return new StatsResponse(now, activeAccounts.sum(), today, hourly);
+    }
+    
+    @Scheduled(fixedDelayString = "${stats.flush-interval-ms:10000}")
+    public void flush() {
+        LocalDateTime expiry = currentHour().minusHours(retentionHours);
+        for (Map.Entry<TransactionType, ConcurrentMap<LocalDateTime, Bucket>> typeEntry : buckets.entrySet()) {
+            for (Map.Entry<LocalDateTime, Bucket> entry : typeEntry.getValue().entrySet()) {
+                Bucket bucket = entry.getValue();
+                boolean flushed = flushBucket(typeEntry.getKey(), entry.getKey(), bucket);
+                
+                // Past the retention window nothing posts into a bucket any more
+                if (flushed && entry.getKey().isBefore(expiry)) {
+                    typeEntry.getValue().remove(entry.getKey(), bucket);
+                }
+            }
+        }
+    }
+    
+    private boolean flushBucket(TransactionType type, LocalDateTime bucketStart, Bucket bucket) {
+        long count = bucket.count.sum();
+        long cents = bucket.amountCents.sum();
+        long countDelta = count - bucket.flushedCount;
+        long centsDelta = cents - bucket.flushedCents;
+        if (countDelta == 0 && centsDelta == 0) {
+            return true;
+        }
+        
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                BigDecimal amountDelta = fromCents(centsDelta);
+                if (statsRollupRepository.addToBucket(type, bucketStart, countDelta, amountDelta,
+                                                      LocalDateTime.now()) == 0) {
+                    statsRollupRepository.save(new StatsRollup(type, bucketStart, countDelta, amountDelta));
+                }
+            });
+        } catch (RuntimeException e) {
+            // The baseline is left as is, so the delta is retried on the next flush
+            logger.warn("Could not flush stats for {} {}: {}", type, bucketStart, e.getMessage());
+            return false;
+        }
+        
+        bucket.flushedCount = count;
+        bucket.flushedCents = cents;
+        return true;
+    }
+    
+    private Bucket bucket(TransactionType type, LocalDateTime hour) {
+        return buckets.get(type).computeIfAbsent(hour, key -> new Bucket());
+    }
+    
+    private static LocalDateTime currentHour() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+    }
+    
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+    
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+    
+    private static class Bucket {
+        
+        private final LongAdder count = new LongAdder();
+        private final LongAdder amountCents = new LongAdder();
+        
+        // Totals already in the rollup table; only touched by the flushing thread
+        private long flushedCount;
+        private long flushedCents;
+    }
+}
@@ -0,0 +1,128 @@
+package com.banking.service;
+
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.TransferLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Where transfer latency goes, stage by stage. Meters are registered once, so recording a
+// stage is an EnumMap lookup and a histogram update; percentiles and histogram buckets are
+// published for the Prometheus scrape.
+@Component
+public class TransferMetrics {
+    
+    public enum Stage {
+        ACCOUNT_LOAD, OWNERSHIP_CHECK, LIMIT_VALIDATION,
+        FRAUD_VELOCITY, FRAUD_ROUND_AMOUNT, FRAUD_SELF_TRANSFER, FRAUD_WEEKEND,
+        BALANCE_UPDATE, TRANSACTION_SAVE, AUDIT_WRITE,
+        // Flush of the balance updates and the database commit, after the service method returns
+        COMMIT
+    }
+    
+    public enum Rejection {
+        ACCOUNT_NOT_FOUND, ACCESS_DENIED, ACCOUNT_INACTIVE, INSUFFICIENT_FUNDS,
+        DAILY_LIMIT, NEW_ACCOUNT_LIMIT, BELOW_MINIMUM, HOURLY_LIMIT
+    }
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    
+    private final Map<Rejection, Counter> rejectionCounters = new EnumMap<>(Rejection.class);
+    
+    private Timer committed;
+    
+    private Timer rolledBack;
+    
+    @PostConstruct
+    void init() {
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, timer("transfer.stage", "Time spent in one stage of a transfer")
+                    .tag("stage", tagValue(stage))
+                    .register(meterRegistry));
+        }
+        for (Rejection reason : Rejection.values()) {
+            rejectionCounters.put(reason, Counter.builder("transfer.rejected")
+                    .description("Transfers refused before any money moved")
+                    .tag("reason", tagValue(reason))
+                    .register(meterRegistry));
+        }
+        committed = timer("transfer.duration", "Transfer time from the first query to the end of the commit")
+                .tag("outcome", "committed")
+                .register(meterRegistry);
+        rolledBack = timer("transfer.duration", "Transfer time from the first query to the end of the commit")
+                .tag("outcome", "rolled_back")
+                .register(meterRegistry);
+    }
+    
+    // Times the whole transfer and its commit through the surrounding transaction
+    public void startTransfer() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long startNanos = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private long commitStartNanos;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commitStartNanos = System.nanoTime();
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                long endNanos = System.nanoTime();
+                if (status == STATUS_COMMITTED) {
+                    stageTimers.get(Stage.COMMIT).record(endNanos - commitStartNanos, TimeUnit.NANOSECONDS);
+                    committed.record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+                } else {
+                    rolledBack.record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+        });
+    }
+    
+    // Returns the end of the stage, which is where the next one starts
+    public long recordStage(Stage stage, long startNanos) {
+        long endNanos = System.nanoTime();
+        stageTimers.get(stage).record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+        return endNanos;
+    }
+    
+    // Counts the rejection and returns the exception to throw for it; funds and limits have their
+    // own types, so callers can tell a refused transfer from a failure
+    public RuntimeException reject(Rejection reason, String message) {
+        rejectionCounters.get(reason).increment();
+        return switch (reason) {
+            case INSUFFICIENT_FUNDS -> new InsufficientFundsException(message);
+            case DAILY_LIMIT, NEW_ACCOUNT_LIMIT, BELOW_MINIMUM, HOURLY_LIMIT -> new TransferLimitExceededException(message);
+            default -> new RuntimeException(message);
+        };
+    }
+    
+    private static Timer.Builder timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(10));
+    }
+    
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,192 @@
+package com.banking.service;
+
+import com.banking.dto.UserDTO;
+import com.banking.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+// In-memory prefix index over the searchable user fields. Each field is a sorted set of
+// "value\0id" keys, so a prefix query is a range scan that stops after `limit` hits.
+// Reads are lock-free; writes are rare and serialized.
+@Component
+public class UserSearchIndex {
+    
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchIndex.class);
+    
+    private static final char SEPARATOR = '\0';
+    
+    public enum Field {
+        USERNAME, EMAIL, NAME, PHONE;
+        
+        public static Field fromParameter(String value) {
+            try {
+                return Field.valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported search field: " + value);
+            }
+        }
+    }
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private final Map<Field, NavigableSet<String>> keys = new EnumMap<>(Field.class);
+    
+    private final ConcurrentMap<Long, UserDTO> users = new ConcurrentHashMap<>();
+    
+    // Ids written through put() while a rebuild is reading, whose rows in the rebuild's
+    // snapshot may be older; null when no rebuild is running. Guarded by this.
+    private Set<Long> updatedDuringRebuild;
+    
+    public UserSearchIndex() {
+        for (Field field : Field.values()) {
+            keys.put(field, new ConcurrentSkipListSet<>());
+        }
+    }
+    
+    // Built once the data initializer has run; later changes arrive through put()
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            updatedDuringRebuild = new HashSet<>();
+        }
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<UserDTO> all = userRepository.streamAllSummaries()) {
+                    all.forEach(this::storeFromRebuild);
+                }
+            });
+        } finally {
+            synchronized (this) {
+                updatedDuringRebuild = null;
+            }
+        }
+        logger.info("User search index built with {} users", users.size());
+    }
+    
+    // Applied after commit, so a rolled back change never becomes searchable
+    public void put(UserDTO user) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    store(user);
+                }
+            });
+        } else {
+            store(user);
+        }
+    }
+    
+    public int size() {
+        return users.size();
+    }
+    
+    // Matches on any field when field is null, in field order, then by matched value
+    public List<UserDTO> search(String query, Field field, int limit) {
+        Map<Long, UserDTO> results = new LinkedHashMap<>();
+        for (Field candidate : field != null ? new Field[] {field} : Field.values()) {
+            String prefix = candidate == Field.PHONE ? digitsOf(query) : normalize(query);
+            if (prefix == null || prefix.isEmpty()) {
+                continue;
+            }
+            for (String key : keys.get(candidate).subSet(prefix, true, prefix + Character.MAX_VALUE, false)) {
+                if (results.size() >= limit) {
+                    return new ArrayList<>(results.values());
+                }
+                Long id = Long.valueOf(key.substring(key.lastIndexOf(SEPARATOR) + 1));
+                UserDTO user = users.get(id);
+                if (user != null) {
+                    results.putIfAbsent(id, user);
+                }
+            }
+        }
+        return new ArrayList<>(results.values());
+    }
+    
+    private synchronized void store(UserDTO user) {
+        if (updatedDuringRebuild != null) {
+            updatedDuringRebuild.add(user.getId());
+        }
+        index(user);
+    }
+    
+    // A committed update that arrived during the rebuild is at least as new as the snapshot row
+    private synchronized void storeFromRebuild(UserDTO user) {
+        if (!updatedDuringRebuild.contains(user.getId())) {
+            index(user);
+        }
+    }
+    
+    private void index(UserDTO user) {
+        UserDTO previous = users.put(user.getId(), user);
+        if (previous != null) {
+            forEachKey(previous, (field, key) -> keys.get(field).remove(key));
+        }
+        forEachKey(user, (field, key) -> keys.get(field).add(key));
+    }
+    
+    private void forEachKey(UserDTO user, BiConsumer<Field, String> consumer) {
+        String suffix = SEPARATOR + user.getId().toString();
+        addKey(consumer, Field.USERNAME, normalize(user.getUsername()), suffix);
+        addKey(consumer, Field.EMAIL, normalize(user.getEmail()), suffix);
+        addKey(consumer, Field.NAME, normalize(user.getFirstName()), suffix);
+        addKey(consumer, Field.NAME, normalize(user.getLastName()), suffix);
+        if (user.getFirstName() != null && user.getLastName() != null) {
+            addKey(consumer, Field.NAME, normalize(user.getFirstName() + " " + user.getLastName()), suffix);
+        }
+        addKey(consumer, Field.PHONE, digitsOf(user.getPhoneNumber()), suffix);
+    }
+    
+    private static void addKey(BiConsumer<Field, String> consumer, Field field, String value, String suffix) {
+        if (value != null && !value.isEmpty()) {
+            consumer.accept(field, value + suffix);
+        }
+    }
+    
+    private static String normalize(String value) {
+        return value != null ? value.replace(String.valueOf(SEPARATOR), "").trim().toLowerCase(Locale.ROOT) : null;
+    }
+    
+    private static String digitsOf(String value) {
+        if (value == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+}
@@ -1,10 +1,14 @@
 package com.banking.service;
 
 import com.banking.dto.RegisterRequest;
+import com.banking.dto.UserDTO;
+import com.banking.dto.UserPageResponse;
 import com.banking.entity.Role;
 import com.banking.entity.User;
 import com.banking.repository.UserRepository;
+import com.banking.security.UserStatusCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +29,12 @@ public class UserService {
     @Autowired
     private AuditService auditService;
     
+    @Autowired
+    private UserStatusCache userStatusCache;
+    
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+    
     public User createUser(RegisterRequest registerRequest) {
         if (userRepository.existsByUsername(registerRequest.getUsername())) {
             throw new RuntimeException("Error: Username is already taken!");
@@ -44,6 +54,7 @@ public class UserService {
         );
         
         User savedUser = userRepository.save(user);
+        userSearchIndex.put(convertToUserDTO(savedUser));
         auditService.logAction(user.getUsername(), "USER_CREATED", "User", user.getId().toString(), 
                               "User registered successfully", null);
         
@@ -58,8 +69,15 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
     
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    @Transactional(readOnly = true)
+    public UserPageResponse getUserPage(Long afterId, int size) {
+        List<UserDTO> users = userRepository.findPageAfter(afterId, PageRequest.of(0, size));
+        Long nextCursor = users.size() == size ? users.get(users.size() - 1).getId() : null;
+        return new UserPageResponse(users, nextCursor, userSearchIndex.size());
+    }
+    
+    public List<UserDTO> searchUsers(String query, UserSearchIndex.Field field, int limit) {
+        return userSearchIndex.search(query, field, limit);
     }
     
     public User updateUser(Long userId, User updatedUser) {
@@ -72,6 +90,7 @@ public class UserService {
         user.setPhoneNumber(updatedUser.getPhoneNumber());
         
         User savedUser = userRepository.save(user);
+        userSearchIndex.put(convertToUserDTO(savedUser));
         auditService.logAction(user.getUsername(), "USER_UPDATED", "User", user.getId().toString(), 
                               "User profile updated", null);
         
@@ -83,7 +102,9 @@ public class UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         
         user.setEnabled(false);
-        userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userStatusCache.revokeTokens(userId);
+        userSearchIndex.put(convertToUserDTO(savedUser));
         
         auditService.logAction(user.getUsername(), "USER_DELETED", "User", user.getId().toString(), 
                               "User account deactivated", null);
@@ -95,10 +116,25 @@ public class UserService {
         
         user.setRole(Role.ADMIN);
         User savedUser = userRepository.save(user);
+        userSearchIndex.put(convertToUserDTO(savedUser));
         
         auditService.logAction(user.getUsername(), "USER_PROMOTED", "User", user.getId().toString(), 
                               "User promoted to admin", null);
         
         return savedUser;
     }
+    
+    private UserDTO convertToUserDTO(User user) {
+        return new UserDTO(
+            user.getId(),
+            user.getUsername(),
+            user.getEmail(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getPhoneNumber(),
+            user.getRole(),
+            user.isEnabled(),
+            user.getCreatedAt()
+        );
+    }
 }
@@ -0,0 +1,140 @@
+package com.banking.monitoring;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// With fail-on-budget, a request that issues more statements than its @SqlBudget throws an
+// AssertionError out of perform(), so an N+1 on these endpoints fails the build
+@SpringBootTest(properties = {
+        "sql-stats.fail-on-budget=true",
+        "sql-stats.response-headers=true"
+})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+    
+    private static final AtomicInteger USERS = new AtomicInteger();
+    
+    // More rows than one page, so lazily loaded accounts per row would go over the budget
+    private static final int DEPOSITS = 8;
+    private static final int PAGE_SIZE = 5;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private String bearer;
+    private String accountNumber;
+    
+    @BeforeEach
+    void signUpWithFundedAccount() throws Exception {
+        String username = "budget" + USERS.incrementAndGet();
+        mockMvc.perform(post("/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "password", "secret123",
+                                "email", username + "@example.com",
+                                "firstName", "Budget",
+                                "lastName", "Test",
+                                "phoneNumber", "555-0100"))))
+                .andExpect(status().isOk());
+        
+        MvcResult signin = mockMvc.perform(post("/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "password", "secret123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        bearer = "Bearer " + objectMapper.readTree(signin.getResponse().getContentAsString()).get("token").asText();
+        
+        mockMvc.perform(post("/accounts/create").param("accountType", "CHECKING")
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk());
+        MvcResult accounts = mockMvc.perform(get("/accounts/my-accounts").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        JsonNode account = objectMapper.readTree(accounts.getResponse().getContentAsString()).get(0);
+        accountNumber = account.get("accountNumber").asText();
+        
+        for (int i = 0; i < DEPOSITS; i++) {
+            mockMvc.perform(post("/accounts/{accountNumber}/deposit", accountNumber).param("amount", "25.00")
+                            .header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isOk());
+        }
+    }
+    
+    @Test
+    void accountHistoryStaysWithinBudget() throws Exception {
+        for (int page = 0; page * PAGE_SIZE < DEPOSITS; page++) {
+            MvcResult result = mockMvc.perform(get("/transactions/account/{accountNumber}", accountNumber)
+                            .param("page", String.valueOf(page))
+                            .param("size", String.valueOf(PAGE_SIZE))
+                            .header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            assertThat(statementsOf(result)).isPositive();
+        }
+    }
+    
+    @Test
+    void userHistoryStaysWithinBudget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/transactions/my-transactions")
+                        .param("size", String.valueOf(PAGE_SIZE))
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(statementsOf(result)).isPositive();
+    }
+    
+    @Test
+    void statementStaysWithinBudget() throws Exception {
+        LocalDate today = LocalDate.now();
+        MvcResult started = mockMvc.perform(get("/transactions/account/{accountNumber}/statement", accountNumber)
+                        .param("startDate", today.minusDays(7).atStartOfDay().toString())
+                        .param("endDate", today.plusDays(1).atStartOfDay().toString())
+                        .header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+    }
+    
+    // The recent transactions and spending are read on the dashboard pool and still count
+    @Test
+    void dashboardCountsQueriesOnItsPool() throws Exception {
+        MvcResult result = mockMvc.perform(get("/dashboard").header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(statementsOf(result)).isGreaterThanOrEqualTo(3);
+    }
+    
+    private static int statementsOf(MvcResult result) {
+        return Integer.parseInt(result.getResponse().getHeader("X-SQL-Statements"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.banking.service;
+
+import com.banking.entity.Account;
+import com.banking.entity.AccountType;
+import com.banking.entity.User;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.BatchCheckpointRepository;
+import com.banking.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.reset;
+
+// Every savings account gets the day's interest exactly once, however often the run is repeated
+// and whatever chunks an earlier attempt left behind. Its own database, so the chunks cover
+// only accounts opened here.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:interest_accrual;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false",
+        "interest.max-chunks-per-second=0"
+})
+class InterestAccrualServiceTest {
+    
+    private static final String COUNT_POSTINGS =
+            "SELECT COUNT(*) FROM transactions " +
+            "WHERE to_account_id = ? AND transaction_type = 'INTEREST' AND reference_number = ?";
+    
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("10000.00");
+    
+    private static final int ACCOUNTS = 7;
+    
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @SpyBean
+    private BatchCheckpointRepository batchCheckpointRepository;
+    
+    @Value("${interest.savings-annual-rate:0.02}")
+    private BigDecimal annualRate;
+    
+    @Value("${interest.chunk-size:500}")
+    private long chunkSize;
+    
+    @AfterEach
+    void restoreChunkSize() {
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", chunkSize);
+        reset(batchCheckpointRepository);
+    }
+    
+    @Test
+    void repeatedRunCreditsOnce() {
+        List<Account> savings = openSavingsAccounts("repeat");
+        LocalDate day = LocalDate.of(2026, 1, 15);
+        
+        interestAccrualService.accrue(day);
+        interestAccrualService.accrue(day);
+        
+        assertCreditedOnce(savings, day);
+    }
+    
+    // The first attempt loses one chunk; the retry runs with a different chunk size, so none of
+    // the old checkpoints match and every chunk is redone over accounts partly paid already
+    @Test
+    void resumeAfterFailedChunkCreditsOnce() {
+        List<Account> savings = openSavingsAccounts("resume");
+        LocalDate day = LocalDate.of(2026, 1, 16);
+        
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", 2L);
+        doThrow(new RuntimeException("Simulated failure")).doCallRealMethod()
+                .when(batchCheckpointRepository).save(any());
+        interestAccrualService.accrue(day);
+        assertThat(interestAccrualService.getProgress().getChunksFailed()).as("failed chunks").isEqualTo(1);
+        
+        ReflectionTestUtils.setField(interestAccrualService, "chunkSize", 3L);
+        interestAccrualService.accrue(day);
+        assertThat(interestAccrualService.getProgress().getChunksFailed()).as("failed chunks on retry").isZero();
+        
+        assertCreditedOnce(savings, day);
+    }
+    
+    private List<Account> openSavingsAccounts(String prefix) {
+        List<Account> opened = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            User user = userRepository.save(new User(prefix + i, "not-a-hash", prefix + i + "@example.com",
+                                                     "Interest", "User" + i, "5550100"));
+            Account account = accountService.createAccount(user.getId(), AccountType.SAVINGS);
+            accountService.depositFunds(account.getAccountNumber(), OPENING_BALANCE, user.getUsername());
+            opened.add(account);
+        }
+        return opened;
+    }
+    
+    private void assertCreditedOnce(List<Account> savings, LocalDate day) {
+        String referencePrefix = "INT" + DateTimeFormatter.BASIC_ISO_DATE.format(day) + "-";
+        BigDecimal interest = OPENING_BALANCE.multiply(annualRate)
+                .divide(BigDecimal.valueOf(365), 2, RoundingMode.HALF_EVEN);
+        for (Account account : savings) {
+            Long postings = jdbcTemplate.queryForObject(COUNT_POSTINGS, Long.class,
+                                                        account.getId(), referencePrefix + account.getId());
+            assertThat(postings).as("interest postings of %s", account.getAccountNumber()).isEqualTo(1);
+            assertThat(accountRepository.findById(account.getId()).orElseThrow().getBalance())
+                    .as("balance of %s", account.getAccountNumber())
+                    .isEqualByComparingTo(OPENING_BALANCE.add(interest));
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package com.banking.service;
+
+import com.banking.dto.ReconciliationReport;
+import com.banking.dto.TransferRequest;
+import com.banking.entity.Account;
+import com.banking.entity.AccountType;
+import com.banking.entity.User;
+import com.banking.exception.FraudDetectedException;
+import com.banking.exception.InsufficientFundsException;
+import com.banking.exception.TransferLimitExceededException;
+import com.banking.repository.AccountRepository;
+import com.banking.repository.UserRepository;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Concurrent random postings through the real services, followed by a check that money was
+// conserved. Each account belongs to its own user; the graph decides which pairs transfer to
+// each other. Optimistic lock conflicts are retried as a client would, funds and limit
+// rejections are expected, and any other exception fails the test. Sizes are system
+// properties, e.g. mvn test -Dtest=TransferStressTest -Dstress.operations=100000
+// Its own database, so the completed-posting count sees only this run
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:transfer_stress;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.jpa.show-sql=false"
+})
+class TransferStressTest {
+    
+    private static final Logger logger = LoggerFactory.getLogger(TransferStressTest.class);
+    
+    private static final String COUNT_COMPLETED = "SELECT COUNT(*) FROM transactions WHERE status = 'COMPLETED'";
+    
+    private static final String COUNT_NEGATIVE = "SELECT COUNT(*) FROM accounts WHERE balance < 0";
+    
+    enum Kind { TRANSFER, DEPOSIT, WITHDRAWAL }
+    
+    enum Graph { RANDOM, RING, STAR }
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private ReconciliationService reconciliationService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private AccountRepository accountRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Value("${stress.accounts:50}")
+    private int accounts;
+    
+    @Value("${stress.operations:2000}")
+    private int operations;
+    
+    @Value("${stress.threads:16}")
+    private int threads;
+    
+    @Value("${stress.transfer-share:70}")
+    private int transferShare;
+    
+    @Value("${stress.initial-balance:10000.00}")
+    private BigDecimal initialBalance;
+    
+    @Value("${stress.max-retries:5}")
+    private int maxRetries;
+    
+    @Value("${stress.seed:42}")
+    private long seed;
+    
+    private final Map<Kind, Counters> counters = new EnumMap<>(Kind.class);
+    
+    // Username of the owner of each stress account, by position
+    private final List<String> owners = new ArrayList<>();
+    
+    @ParameterizedTest
+    @EnumSource(Graph.class)
+    void conservesMoneyUnderConcurrentPostings(Graph topology) throws Exception {
+        assertThat(accounts).as("stress.accounts").isGreaterThanOrEqualTo(2);
+        for (Kind kind : Kind.values()) {
+            counters.put(kind, new Counters());
+        }
+        
+        List<Account> stressAccounts = openAccounts();
+        List<Long> accountIds = stressAccounts.stream().map(Account::getId).collect(Collectors.toList());
+        BigDecimal totalBefore = totalBalance(accountIds);
+        long completedBefore = jdbcTemplate.queryForObject(COUNT_COMPLETED, Long.class);
+        logger.info("Stress run: {} operations on {} threads over {} accounts ({} graph)",
+                    operations, threads, accounts, topology.name().toLowerCase());
+        
+        long started = System.nanoTime();
+        runOperations(stressAccounts, topology);
+        report((System.nanoTime() - started) / 1e9);
+        
+        // Transfers move money between stress accounts; only deposits and withdrawals change the total
+        BigDecimal expectedTotal = totalBefore.add(counters.get(Kind.DEPOSIT).amount())
+                .subtract(counters.get(Kind.WITHDRAWAL).amount());
+        assertThat(totalBalance(accountIds)).as("total balance").isEqualByComparingTo(expectedTotal);
+        
+        assertThat(jdbcTemplate.queryForObject(COUNT_NEGATIVE, Long.class)).as("accounts with a negative balance")
+                .isZero();
+        
+        // Each successful call commits exactly one completed posting, and no failed one commits any
+        long succeeded = counters.values().stream().mapToLong(c -> c.succeeded.sum()).sum();
+        long completed = jdbcTemplate.queryForObject(COUNT_COMPLETED, Long.class) - completedBefore;
+        assertThat(completed).as("completed transactions for %d successful operations", succeeded)
+                .isEqualTo(succeeded);
+        
+        // Every balance equals the sum of the completed postings in and out of it
+        ReconciliationReport reconciliation = reconciliationService.reconcile();
+        assertThat(reconciliation.isClean())
+                .as("reconciliation: %d mismatched accounts, %d failed partitions",
+                    reconciliation.getMismatchCount(), reconciliation.getFailedPartitions())
+                .isTrue();
+    }
+    
+    // One user per account, sharing one password hash; funded through the service like any deposit
+    private List<Account> openAccounts() {
+        String prefix = "stress" + Long.toString(System.nanoTime(), 36) + "_";
+        String passwordHash = passwordEncoder.encode("stress123");
+        List<Account> opened = new ArrayList<>();
+        for (int i = 0; i < accounts; i++) {
+            User user = userRepository.save(new User(prefix + i, passwordHash, prefix + i + "@example.com",
+                                                     "Stress", "User" + i, "5550100"));
+            Account account = accountService.createAccount(user.getId(), AccountType.CHECKING);
+            accountService.depositFunds(account.getAccountNumber(), initialBalance, user.getUsername());
+            opened.add(account);
+            owners.add(user.getUsername());
+        }
+        return opened;
+    }
+    
+    private void runOperations(List<Account> stressAccounts, Graph topology) throws InterruptedException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+                runnable -> new Thread(runnable, "stress-" + threadCount.incrementAndGet()));
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < operations; i++) {
+                SplittableRandom random = new SplittableRandom(seed * 1_000_003L + i);
+                results.add(workers.submit(() -> runOperation(stressAccounts, topology, random)));
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    throw new AssertionError("Stress operation failed unexpectedly", e.getCause());
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+            workers.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+    
+    private void runOperation(List<Account> stressAccounts, Graph topology, SplittableRandom random) {
+        int pick = random.nextInt(100);
+        int otherShare = (100 - transferShare) / 2;
+        Kind kind = pick < transferShare ? Kind.TRANSFER
+                : pick < transferShare + otherShare ? Kind.DEPOSIT : Kind.WITHDRAWAL;
+        BigDecimal amount = BigDecimal.valueOf(100 + random.nextInt(9901), 2);
+        int from = pickAccount(topology, random, -1);
+        Account account = stressAccounts.get(from);
+        String username = owners.get(from);
+        
+        Runnable call = switch (kind) {
+            case TRANSFER -> {
+                Account to = stressAccounts.get(pickAccount(topology, random, from));
+                TransferRequest request = new TransferRequest(account.getAccountNumber(), to.getAccountNumber(),
+                                                              amount, "Stress transfer");
+                yield () -> transactionService.transferFunds(request, username);
+            }
+            case DEPOSIT -> () -> accountService.depositFunds(account.getAccountNumber(), amount, username);
+            case WITHDRAWAL -> () -> accountService.withdrawFunds(account.getAccountNumber(), amount, username);
+        };
+        
+        Counters kindCounters = counters.get(kind);
+        long start = System.nanoTime();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                call.run();
+                kindCounters.succeeded(amount, System.nanoTime() - start);
+                return;
+            } catch (ConcurrencyFailureException e) {
+                // Another posting updated one of the accounts first; retry on fresh state
+                if (attempt == maxRetries) {
+                    kindCounters.aborted.increment();
+                    return;
+                }
+                kindCounters.retries.increment();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1 + random.nextInt(1 << Math.min(attempt, 5))));
+            } catch (InsufficientFundsException | TransferLimitExceededException | FraudDetectedException e) {
+                // The business rules refusing the operation; anything else propagates and fails the run
+                kindCounters.rejected(e.getMessage());
+                return;
+            }
+        }
+    }
+    
+    // The account at one end of an operation; "other" is the first end of a transfer, or -1
+    private int pickAccount(Graph topology, SplittableRandom random, int other) {
+        if (other < 0) {
+            return topology == Graph.STAR && random.nextBoolean() ? 0 : random.nextInt(accounts);
+        }
+        return switch (topology) {
+            case RING -> Math.floorMod(other + (random.nextBoolean() ? 1 : -1), accounts);
+            case STAR -> other == 0 ? 1 + random.nextInt(accounts - 1) : 0;
+            case RANDOM -> {
+                int to = random.nextInt(accounts - 1);
+                yield to >= other ? to + 1 : to;
+            }
+        };
+    }
+    
+    private BigDecimal totalBalance(List<Long> accountIds) {
+        return accountRepository.findAllById(accountIds).stream()
+                .map(Account::getBalance)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+    
+    private void report(double elapsedSeconds) {
+        logger.info("{} operations in {}s: {} ops/s", operations, String.format("%.1f", elapsedSeconds),
+                    Math.round(operations / elapsedSeconds));
+        counters.forEach((kind, c) -> {
+            long attempts = c.succeeded.sum() + c.rejected.sum() + c.aborted.sum();
+            logger.info("{}: {} succeeded, {} rejected, {} aborted after {} retries, {} retries ({} per operation), " +
+                        "p50 {} ms, p99 {} ms", kind, c.succeeded.sum(), c.rejected.sum(), c.aborted.sum(), maxRetries,
+                        c.retries.sum(), attempts > 0 ? String.format("%.3f", (double) c.retries.sum() / attempts) : "0",
+                        String.format("%.2f", c.latency.getValueAtPercentile(50) / 1e6),
+                        String.format("%.2f", c.latency.getValueAtPercentile(99) / 1e6));
+            c.rejections.forEach((reason, count) -> logger.info("  rejected {}x: {}", count.sum(), reason));
+        });
+    }
+    
+    private static class Counters {
+        
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder aborted = new LongAdder();
+        private final LongAdder retries = new LongAdder();
+        private final LongAdder amountCents = new LongAdder();
+        private final ConcurrentMap<String, LongAdder> rejections = new ConcurrentHashMap<>();
+        // Nanoseconds from the first attempt to success, retries included
+        private final Histogram latency = new ConcurrentHistogram(3);
+        
+        void succeeded(BigDecimal amount, long nanos) {
+            succeeded.increment();
+            amountCents.add(amount.movePointRight(2).longValueExact());
+            latency.recordValue(nanos);
+        }
+        
+        void rejected(String reason) {
+            rejected.increment();
+            rejections.computeIfAbsent(String.valueOf(reason), key -> new LongAdder()).increment();
+        }
+        
+        BigDecimal amount() {
+            return BigDecimal.valueOf(amountCents.sum(), 2);
+        }
+    }
+}